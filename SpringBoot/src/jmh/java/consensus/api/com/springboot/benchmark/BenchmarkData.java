@@ -0,0 +1,65 @@
+package consensus.api.com.springboot.benchmark;
+
+import consensus.api.com.springboot.buisness.DTO.MarketDTO;
+import consensus.api.com.springboot.buisness.DTO.OutcomePriceDTO;
+import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic fixtures shaped like production data. Embeddings are unit vectors; "related" vectors
+ * sit near a base vector so a realistic share of events clears the similarity threshold.
+ */
+final class BenchmarkData {
+
+    // gemini-embedding-001 output size
+    static final int DIMENSIONS = 3072;
+
+    private BenchmarkData() {
+    }
+
+    static float[] randomUnitVector(SplittableRandom random, int dimensions) {
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return normalize(vector);
+    }
+
+    /**
+     * A unit vector whose cosine similarity to {@code base} is roughly {@code 1 / sqrt(1 + noise^2)}.
+     */
+    static float[] relatedUnitVector(SplittableRandom random, float[] base, double noise) {
+        double scale = noise / Math.sqrt(base.length);
+        float[] vector = new float[base.length];
+        for (int i = 0; i < base.length; i++) {
+            vector[i] = (float) (base[i] + random.nextGaussian() * scale);
+        }
+        return normalize(vector);
+    }
+
+    static PolyMarketInfoDTO event(int i) {
+        return new PolyMarketInfoDTO(
+                "event-" + i,
+                "Will event " + i + " resolve YES by year end?",
+                "This market resolves to Yes if event " + i + " happens before December 31.",
+                List.of(new MarketDTO("market-" + i, "Event " + i + "?", null, List.of(
+                        new OutcomePriceDTO("Yes", 0.42),
+                        new OutcomePriceDTO("No", 0.58)
+                )))
+        );
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        float inverse = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= inverse;
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,59 @@
+package consensus.api.com.springboot.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+import consensus.api.com.springboot.buisness.market.PolyMarketEventParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses one gamma-api {@code /events} page. The page is built by repeating the events in
+ * {@code polymarket/events.json} (a sample in the gamma-api response shape, including the
+ * fields the parser skips) with distinct ids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolyMarketParserBenchmark {
+
+    @Param({"25", "500"})
+    public int events;
+
+    private final PolyMarketEventParser parser = new PolyMarketEventParser(new JsonFactory());
+
+    private byte[] page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        ArrayNode recorded;
+        try (InputStream in = PolyMarketParserBenchmark.class.getResourceAsStream("/polymarket/events.json")) {
+            recorded = (ArrayNode) objectMapper.readTree(in);
+        }
+
+        ArrayNode generated = objectMapper.createArrayNode();
+        for (int i = 0; i < events; i++) {
+            ObjectNode event = recorded.get(i % recorded.size()).deepCopy();
+            event.put("id", event.path("id").asText() + "-" + i);
+            generated.add(event);
+        }
+        page = objectMapper.writeValueAsBytes(generated);
+    }
+
+    @Benchmark
+    public List<PolyMarketInfoDTO> parse() throws IOException {
+        return parser.parse(new ByteArrayInputStream(page));
+    }
+}
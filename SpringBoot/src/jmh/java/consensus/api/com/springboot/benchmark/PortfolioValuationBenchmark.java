@@ -0,0 +1,70 @@
+package consensus.api.com.springboot.benchmark;
+
+import consensus.api.com.springboot.data.Asset;
+import consensus.api.com.springboot.data.Portfolio;
+import consensus.api.com.springboot.presentation.responses.AssetResponse;
+import consensus.api.com.springboot.presentation.responses.PortfolioResponse;
+import consensus.api.com.springboot.presentation.responses.PriceStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PortfolioValuationBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int assets;
+
+    private Portfolio portfolio;
+    private AssetResponse[] assetResponses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(11);
+
+        List<Asset> assetList = new ArrayList<>(assets);
+        assetResponses = new AssetResponse[assets];
+        for (int i = 0; i < assets; i++) {
+            Asset asset = Asset.builder()
+                    .symbol("SYM" + i)
+                    .name("Company " + i)
+                    .quantity(1 + random.nextInt(500))
+                    .value(random.nextDouble(1, 1000))
+                    .fullExchangeName("NasdaqGS")
+                    .keywords(new String[]{"technology", "software"})
+                    .description("Company " + i + " description")
+                    .build();
+            assetList.add(asset);
+
+            assetResponses[i] = AssetResponse.builder()
+                    .symbol(asset.getSymbol())
+                    .name(asset.getName())
+                    .quantity(asset.getQuantity())
+                    .value(asset.getValue())
+                    .priceStatus(PriceStatus.LIVE)
+                    .fullExchangeName(asset.getFullExchangeName())
+                    .keywords(asset.getKeywords())
+                    .description(asset.getDescription())
+                    .build();
+        }
+
+        portfolio = Portfolio.builder()
+                .id("portfolio")
+                .userId("benchmark-user")
+                .assets(assetList)
+                .build();
+    }
+
+    @Benchmark
+    public PortfolioResponse fromModel() {
+        return PortfolioResponse.fromModel(portfolio, assetResponses);
+    }
+}
@@ -0,0 +1,132 @@
+package consensus.api.com.springboot.benchmark;
+
+import consensus.api.com.springboot.buisness.AnalysisServiceImpl;
+import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+import consensus.api.com.springboot.buisness.GeminiService;
+import consensus.api.com.springboot.buisness.MarketSnapshotService;
+import consensus.api.com.springboot.buisness.PortfolioService;
+import consensus.api.com.springboot.buisness.embedding.EmbeddingCodec;
+import consensus.api.com.springboot.buisness.embedding.EmbeddingMatrix;
+import consensus.api.com.springboot.buisness.embedding.HnswIndex;
+import consensus.api.com.springboot.buisness.market.MarketSnapshot;
+import consensus.api.com.springboot.data.Asset;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link AnalysisServiceImpl#analyzeData(String)} over an in-memory snapshot: candidate
+ * lookup in the event index plus best/second-best scoring. Asset profiles and embeddings are
+ * stubbed, so this measures only the CPU side of an analysis.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimilarityScoringBenchmark {
+
+    private static final String USER_ID = "benchmark-user";
+
+    @Param({"25", "2000", "50000"})
+    public int events;
+
+    @Param({"1", "20", "200"})
+    public int assets;
+
+    // Share of events generated close to some asset, i.e. likely matches
+    @Param({"0.05"})
+    public double relatedShare;
+
+    private AnalysisServiceImpl analysisService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        SplittableRandom random = new SplittableRandom(7);
+
+        List<float[]> assetVectors = new ArrayList<>(assets);
+        List<Asset> portfolioAssets = new ArrayList<>(assets);
+        for (int i = 0; i < assets; i++) {
+            float[] vector = BenchmarkData.randomUnitVector(random, BenchmarkData.DIMENSIONS);
+            assetVectors.add(vector);
+            portfolioAssets.add(Asset.builder()
+                    .symbol("SYM" + i)
+                    .quantity(1)
+                    .embedding(EmbeddingCodec.encode(vector))
+                    .build());
+        }
+
+        List<PolyMarketInfoDTO> eventList = new ArrayList<>(events);
+        List<float[]> eventVectors = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            eventList.add(BenchmarkData.event(i));
+            eventVectors.add(random.nextDouble() < relatedShare
+                    ? BenchmarkData.relatedUnitVector(random, assetVectors.get(random.nextInt(assets)), 0.75)
+                    : BenchmarkData.randomUnitVector(random, BenchmarkData.DIMENSIONS));
+        }
+
+        EmbeddingMatrix eventEmbeddings = EmbeddingMatrix.of(eventVectors);
+        HnswIndex index = new HnswIndex(16, 100, 64, 2000);
+        for (int i = 0; i < events; i++) {
+            index.insert(eventList.get(i).id(), eventEmbeddings.row(i));
+        }
+
+        MarketSnapshot snapshot = MarketSnapshot.of(1, Instant.now(), eventList, eventEmbeddings, index);
+
+        analysisService = new AnalysisServiceImpl(
+                new FixedSnapshotService(snapshot),
+                texts -> {
+                    throw new IllegalStateException("Benchmark assets are pre-embedded");
+                },
+                portfolioService(portfolioAssets),
+                new SimpleMeterRegistry());
+
+        Field topK = AnalysisServiceImpl.class.getDeclaredField("topK");
+        topK.setAccessible(true);
+        topK.setInt(analysisService, 100);
+    }
+
+    @Benchmark
+    public List<PolyMarketInfoDTO> analyzeData() {
+        return analysisService.analyzeData(USER_ID);
+    }
+
+    // Only fetchAssetProfiles is used by the analysis; everything else on the service is unreachable here
+    private static PortfolioService portfolioService(List<Asset> assets) {
+        return (PortfolioService) Proxy.newProxyInstance(
+                PortfolioService.class.getClassLoader(),
+                new Class<?>[]{PortfolioService.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "fetchAssetProfiles" -> assets;
+                    case "toString" -> "BenchmarkPortfolioService";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private record FixedSnapshotService(MarketSnapshot snapshot) implements MarketSnapshotService {
+
+        @Override
+        public MarketSnapshot current() {
+            return snapshot;
+        }
+
+        @Override
+        public void refresh() {
+        }
+
+        @Override
+        public boolean isStale() {
+            return false;
+        }
+    }
+}
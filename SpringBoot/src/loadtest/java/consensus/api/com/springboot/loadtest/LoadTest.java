@@ -0,0 +1,251 @@
+package consensus.api.com.springboot.loadtest;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import consensus.api.com.springboot.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts stub upstreams and the application against them, seeds synthetic users with portfolios,
+ * then drives the portfolio and analysis endpoints and reports throughput, latency percentiles
+ * and upstream call counts. Needs a reachable MongoDB (see application-loadtest.properties).
+ *
+ * <p>{@code loadtest.concurrency} takes a comma-separated list of client counts; each step runs for
+ * {@code loadtest.duration-s}, which shows where throughput flattens and p99 climbs, i.e. capacity.
+ * {@code loadtest.virtual-threads} runs the application with {@code spring.threads.virtual.enabled}.
+ *
+ * <pre>./gradlew loadTest -Dloadtest.users=200 -Dloadtest.concurrency=64,256 -Dstub.yahoo.error-rate=0.02</pre>
+ */
+public final class LoadTest {
+
+    private static final List<String> SYMBOLS = List.of(
+            "AAPL", "MSFT", "NVDA", "AMZN", "GOOGL", "META", "TSLA", "BRK-B", "JPM", "V",
+            "XOM", "UNH", "JNJ", "WMT", "PG", "MA", "HD", "CVX", "MRK", "ABBV",
+            "KO", "PEP", "AVGO", "COST", "ORCL", "BAC", "NFLX", "AMD", "INTC", "DIS",
+            "CSCO", "ADBE", "CRM", "PFE", "T", "VZ", "NKE", "BA", "GS", "F");
+
+    private static final String PORTFOLIOS = "/api/v1/portfolios";
+    private static final String ANALYSIS = "/api/v1/analysis/summary";
+
+    private final int users = Integer.getInteger("loadtest.users", 100);
+    private final List<Integer> concurrencySteps = Arrays.stream(System.getProperty("loadtest.concurrency", "32").split(","))
+            .map(String::trim)
+            .map(Integer::parseInt)
+            .toList();
+    private final boolean virtualThreads = Boolean.getBoolean("loadtest.virtual-threads");
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-s", 60);
+    private final int assetsPerUser = Integer.getInteger("loadtest.assets-per-user", 5);
+    private final double analysisShare = Double.parseDouble(System.getProperty("loadtest.analysis-share", "0.3"));
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private String baseUrl;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest().run();
+    }
+
+    private void run() throws Exception {
+        List<UpstreamStub> stubs = List.of(Stubs.yahoo(), Stubs.polyMarket(), Stubs.gemini(), Stubs.python());
+        String secret = randomSecret();
+
+        try (ConfigurableApplicationContext application = startApplication(stubs, secret)) {
+            baseUrl = "http://127.0.0.1:" + application.getEnvironment().getProperty("local.server.port");
+            List<String> tokens = mintTokens(secret);
+
+            long seedStart = System.nanoTime();
+            int seeded = seed(tokens);
+            System.out.printf("%nSeeded %d/%d users with %d assets each in %.1f s%n",
+                    seeded, users, assetsPerUser, (System.nanoTime() - seedStart) / 1e9);
+            printUpstreamCalls("Upstream calls while seeding", stubs);
+
+            String threads = virtualThreads ? "virtual" : "platform";
+            for (int concurrency : concurrencySteps) {
+                stubs.forEach(UpstreamStub::resetCounters);
+                Map<String, LatencyRecorder> results = drive(tokens, concurrency);
+
+                System.out.printf("%n=== %s threads: %d users, %d concurrent clients, %d s ===%n",
+                        threads, users, concurrency, durationSeconds);
+                System.out.printf("%-28s %9s %7s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+                results.forEach((endpoint, recorder) -> System.out.printf("%-28s %9d %7d %9.1f %9.1f %9.1f%n",
+                        endpoint, recorder.count(), recorder.errors(), recorder.count() / (double) durationSeconds,
+                        recorder.percentileMillis(50), recorder.percentileMillis(99)));
+                printUpstreamCalls("Upstream calls during the run", stubs);
+            }
+        } finally {
+            stubs.forEach(UpstreamStub::close);
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication(List<UpstreamStub> stubs, String secret) {
+        List<String> args = new ArrayList<>();
+        args.add("--server.port=0");
+        args.add("--management.server.port=0");
+        args.add("--loadtest.jwt.secret=" + secret);
+        args.add("--spring.threads.virtual.enabled=" + virtualThreads);
+        // Command-line arguments so they win over the base URLs in application.properties
+        for (UpstreamStub stub : stubs) {
+            args.add("--outbound.upstreams." + stub.name() + ".base-url=" + stub.baseUrl());
+            if (stub.name().equals("yahoo")) {
+                // Hedged Yahoo requests land on the same stub
+                args.add("--outbound.upstreams.yahoo-alternate.base-url=" + stub.baseUrl());
+            }
+        }
+
+        return new SpringApplicationBuilder(Application.class)
+                .profiles("loadtest")
+                .run(args.toArray(String[]::new));
+    }
+
+    private List<String> mintTokens(String secret) {
+        JwtEncoder encoder = new NimbusJwtEncoder(new ImmutableSecret<>(LoadTestSecurityConfig.secretKey(secret)));
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        Instant now = Instant.now();
+
+        List<String> tokens = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            JwtClaimsSet claims = JwtClaimsSet.builder()
+                    .issuer(LoadTestSecurityConfig.ISSUER)
+                    .subject("loadtest|" + run + "-" + i)
+                    .issuedAt(now)
+                    .expiresAt(now.plus(Duration.ofHours(6)))
+                    .claim("permissions", List.of())
+                    .build();
+            tokens.add(encoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims))
+                    .getTokenValue());
+        }
+        return tokens;
+    }
+
+    private int seed(List<String> tokens) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrencySteps.get(0));
+        AtomicInteger seeded = new AtomicInteger();
+        try {
+            List<Future<?>> pending = new ArrayList<>();
+            for (String token : tokens) {
+                pending.add(clients.submit(() -> {
+                    boolean ok = send("POST", PORTFOLIOS, token, null) < 400;
+                    for (int i = 0; i < assetsPerUser; i++) {
+                        String symbol = SYMBOLS.get(ThreadLocalRandom.current().nextInt(SYMBOLS.size()));
+                        String body = "{\"symbol\":\"" + symbol + "\",\"quantity\":" + (1 + i) + "}";
+                        ok &= send("POST", PORTFOLIOS + "/assets", token, body) < 400;
+                    }
+                    if (ok) {
+                        seeded.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        return seeded.get();
+    }
+
+    private Map<String, LatencyRecorder> drive(List<String> tokens, int concurrency) throws Exception {
+        // Clients on virtual threads so the driver is never what limits concurrency
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+
+        List<Future<Map<String, LatencyRecorder>>> workers = new ArrayList<>();
+        for (int c = 0; c < concurrency; c++) {
+            workers.add(clients.submit(() -> {
+                Map<String, LatencyRecorder> local = new HashMap<>();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+
+                while (System.nanoTime() < deadline) {
+                    String token = tokens.get(random.nextInt(tokens.size()));
+                    String path = random.nextDouble() < analysisShare ? ANALYSIS : PORTFOLIOS;
+
+                    long start = System.nanoTime();
+                    int status = send("GET", path, token, null);
+                    local.computeIfAbsent("GET " + path, key -> new LatencyRecorder())
+                            .record(System.nanoTime() - start, status < 400);
+                }
+                return local;
+            }));
+        }
+
+        Map<String, LatencyRecorder> merged = new TreeMap<>();
+        try {
+            for (Future<Map<String, LatencyRecorder>> worker : workers) {
+                worker.get().forEach((endpoint, recorder) ->
+                        merged.computeIfAbsent(endpoint, key -> new LatencyRecorder()).mergeFrom(recorder));
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        return merged;
+    }
+
+    // Returns the HTTP status, or 599 when the request did not complete
+    private int send(String method, String path, String token, String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body));
+        }
+
+        try {
+            return httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 599;
+        } catch (Exception e) {
+            return 599;
+        }
+    }
+
+    private static void printUpstreamCalls(String title, List<UpstreamStub> stubs) {
+        System.out.printf("%n%s%n", title);
+        System.out.printf("%-12s %-22s %9s %9s%n", "upstream", "route", "calls", "injected");
+        for (UpstreamStub stub : stubs) {
+            Map<String, Long> errors = stub.injectedErrors();
+            stub.calls().forEach((route, calls) -> System.out.printf("%-12s %-22s %9d %9d%n",
+                    stub.name(), route, calls, errors.getOrDefault(route, 0L)));
+        }
+    }
+
+    private static String randomSecret() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,37 @@
+package consensus.api.com.springboot.loadtest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Replaces the Okta issuer with a locally signed HS256 key so the harness can mint its own users.
+ * Lives only in the loadtest source set and is never packaged with the application.
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestSecurityConfig {
+
+    public static final String ISSUER = "https://loadtest.local/";
+
+    @Bean
+    public JwtDecoder jwtDecoder(@Value("${loadtest.jwt.secret}") String secret) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(secretKey(secret))
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+        return decoder;
+    }
+
+    static SecretKeySpec secretKey(String secret) {
+        return new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+}
@@ -0,0 +1,160 @@
+package consensus.api.com.springboot.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * The four upstreams the API calls, served from the response samples under {@code stubs/}.
+ * Per-symbol values are derived from the symbol so repeated calls return the same data.
+ */
+final class Stubs {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final List<String[]> SECTORS = List.of(
+            new String[]{"Technology", "Consumer Electronics"},
+            new String[]{"Technology", "Semiconductors"},
+            new String[]{"Financial Services", "Banks - Diversified"},
+            new String[]{"Energy", "Oil & Gas Integrated"},
+            new String[]{"Healthcare", "Drug Manufacturers - General"},
+            new String[]{"Communication Services", "Internet Content & Information"},
+            new String[]{"Consumer Cyclical", "Auto Manufacturers"}
+    );
+
+    private static final int EMBEDDING_DIMENSIONS = 3072;
+
+    private Stubs() {
+    }
+
+    static UpstreamStub yahoo() throws IOException {
+        String chart = resource("stubs/yahoo-chart.json");
+        String search = resource("stubs/yahoo-search.json");
+
+        return new UpstreamStub("yahoo", UpstreamStub.Behaviour.fromSystemProperties("yahoo", 80))
+                .route("/v8/finance/chart/", exchange -> {
+                    String symbol = lastSegment(exchange);
+                    return UpstreamStub.Response.json(fill(chart, symbol));
+                })
+                .route("/v7/finance/spark", exchange -> {
+                    ArrayNode results = OBJECT_MAPPER.createArrayNode();
+                    for (String symbol : query(exchange).getOrDefault("symbols", "").split(",")) {
+                        if (symbol.isBlank()) {
+                            continue;
+                        }
+                        JsonNode meta = OBJECT_MAPPER.readTree(fill(chart, symbol)).path("chart").path("result").path(0).path("meta");
+                        ObjectNode result = results.addObject().put("symbol", symbol);
+                        result.putArray("response").addObject().set("meta", meta);
+                    }
+                    ObjectNode root = OBJECT_MAPPER.createObjectNode();
+                    root.putObject("spark").set("result", results);
+                    return UpstreamStub.Response.json(OBJECT_MAPPER.writeValueAsString(root));
+                })
+                .route("/v1/finance/search", exchange ->
+                        UpstreamStub.Response.json(fill(search, query(exchange).getOrDefault("q", "AAPL"))))
+                .start();
+    }
+
+    static UpstreamStub polyMarket() throws IOException {
+        ArrayNode sample = (ArrayNode) OBJECT_MAPPER.readTree(resource("stubs/polymarket-events.json"));
+        int totalEvents = Integer.getInteger("stub.polymarket.total-events", 200);
+
+        return new UpstreamStub("polymarket", UpstreamStub.Behaviour.fromSystemProperties("polymarket", 250))
+                .route("/events", exchange -> {
+                    Map<String, String> query = query(exchange);
+                    int limit = Integer.parseInt(query.getOrDefault("limit", "25"));
+                    int offset = Integer.parseInt(query.getOrDefault("offset", "0"));
+
+                    ArrayNode page = OBJECT_MAPPER.createArrayNode();
+                    for (int i = offset; i < Math.min(offset + limit, totalEvents); i++) {
+                        ObjectNode event = sample.get(i % sample.size()).deepCopy();
+                        event.put("id", event.path("id").asText() + "-" + i);
+                        event.put("title", event.path("title").asText() + " #" + i);
+                        page.add(event);
+                    }
+                    return UpstreamStub.Response.json(OBJECT_MAPPER.writeValueAsString(page));
+                })
+                .start();
+    }
+
+    static UpstreamStub gemini() throws IOException {
+        return new UpstreamStub("gemini", UpstreamStub.Behaviour.fromSystemProperties("gemini", 300))
+                .route("/v1beta/models/", exchange -> {
+                    JsonNode requests = OBJECT_MAPPER.readTree(exchange.getRequestBody()).path("requests");
+
+                    ObjectNode root = OBJECT_MAPPER.createObjectNode();
+                    ArrayNode embeddings = root.putArray("embeddings");
+                    for (JsonNode request : requests) {
+                        String text = request.path("content").path("parts").path(0).path("text").asText();
+                        ArrayNode values = embeddings.addObject().putArray("values");
+                        // Same text, same vector, as with the real model
+                        SplittableRandom random = new SplittableRandom(text.hashCode());
+                        for (int i = 0; i < EMBEDDING_DIMENSIONS; i++) {
+                            values.add((float) (random.nextDouble() * 2 - 1));
+                        }
+                    }
+                    return UpstreamStub.Response.json(OBJECT_MAPPER.writeValueAsString(root));
+                })
+                .start();
+    }
+
+    static UpstreamStub python() throws IOException {
+        String summary = resource("stubs/python-summary.txt");
+
+        return new UpstreamStub("python", UpstreamStub.Behaviour.fromSystemProperties("python", 400))
+                .route("/summary/", exchange -> UpstreamStub.Response.text(fill(summary, lastSegment(exchange)).trim()))
+                .start();
+    }
+
+    private static String fill(String template, String symbol) {
+        String[] sector = SECTORS.get(Math.floorMod(symbol.hashCode(), SECTORS.size()));
+        double price = 10 + Math.floorMod(symbol.hashCode(), 49_000) / 100.0;
+
+        return template
+                .replace("{{symbol}}", symbol)
+                .replace("{{price}}", Double.toString(price))
+                .replace("{{sector}}", sector[0])
+                .replace("{{industry}}", sector[1]);
+    }
+
+    private static String lastSegment(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static String resource(String path) throws IOException {
+        try (InputStream in = Stubs.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IOException("Missing stub resource " + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package consensus.api.com.springboot.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for one upstream: serves canned responses per path prefix after an injected delay,
+ * fails a configurable share of calls with 503, and counts calls per route.
+ */
+public class UpstreamStub implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface Responder {
+        Response respond(HttpExchange exchange) throws IOException;
+    }
+
+    public record Response(int status, String contentType, byte[] body) {
+
+        public static Response json(String body) {
+            return new Response(200, "application/json", body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Response text(String body) {
+            return new Response(200, "text/plain; charset=utf-8", body.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Each call waits {@code latencyMs} plus up to {@code jitterMs}, then fails with probability {@code errorRate}.
+     */
+    public record Behaviour(long latencyMs, long jitterMs, double errorRate) {
+
+        static Behaviour fromSystemProperties(String upstream, long defaultLatencyMs) {
+            return new Behaviour(
+                    Long.getLong("stub." + upstream + ".latency-ms", defaultLatencyMs),
+                    Long.getLong("stub." + upstream + ".jitter-ms", defaultLatencyMs / 2),
+                    Double.parseDouble(System.getProperty("stub." + upstream + ".error-rate", "0")));
+        }
+    }
+
+    private final String name;
+    private final Behaviour behaviour;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, Responder> routes = new LinkedHashMap<>();
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> injectedErrors = new ConcurrentHashMap<>();
+
+    public UpstreamStub(String name, Behaviour behaviour) throws IOException {
+        this.name = name;
+        this.behaviour = behaviour;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+    }
+
+    public UpstreamStub route(String pathPrefix, Responder responder) {
+        routes.put(pathPrefix, responder);
+        return this;
+    }
+
+    public UpstreamStub start() {
+        server.start();
+        return this;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public Map<String, Long> calls() {
+        return snapshot(calls);
+    }
+
+    public Map<String, Long> injectedErrors() {
+        return snapshot(injectedErrors);
+    }
+
+    public void resetCounters() {
+        calls.clear();
+        injectedErrors.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            Map.Entry<String, Responder> route = routes.entrySet().stream()
+                    .filter(candidate -> path.startsWith(candidate.getKey()))
+                    .findFirst()
+                    .orElse(null);
+
+            if (route == null) {
+                send(exchange, new Response(404, "text/plain", new byte[0]));
+                return;
+            }
+
+            calls.computeIfAbsent(route.getKey(), key -> new LongAdder()).increment();
+            delay();
+
+            if (ThreadLocalRandom.current().nextDouble() < behaviour.errorRate()) {
+                injectedErrors.computeIfAbsent(route.getKey(), key -> new LongAdder()).increment();
+                send(exchange, new Response(503, "text/plain", new byte[0]));
+                return;
+            }
+
+            send(exchange, route.getValue().respond(exchange));
+        } catch (RuntimeException e) {
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void delay() {
+        long millis = behaviour.latencyMs()
+                + (behaviour.jitterMs() > 0 ? ThreadLocalRandom.current().nextLong(behaviour.jitterMs() + 1) : 0);
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", response.contentType());
+        exchange.sendResponseHeaders(response.status(), response.body().length == 0 ? -1 : response.body().length);
+        if (response.body().length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response.body());
+            }
+        }
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((route, count) -> snapshot.put(route, count.sum()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,9 @@
+package consensus.api.com.springboot.buisness;
+
+import consensus.api.com.springboot.buisness.analysis.AnalysisJob;
+
+public interface AnalysisJobService {
+    AnalysisJob start(String userId);
+
+    AnalysisJob find(String jobId, String userId);
+}
@@ -0,0 +1,113 @@
+package consensus.api.com.springboot.buisness;
+
+import consensus.api.com.springboot.buisness.DTO.AnalysisSummaryDTO;
+import consensus.api.com.springboot.buisness.analysis.AnalysisJob;
+import consensus.api.com.springboot.buisness.analysis.AnalysisJobNotFoundException;
+import consensus.api.com.springboot.buisness.analysis.TooManyAnalysisJobsException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisJobServiceImpl implements AnalysisJobService {
+
+    private final AnalysisSummaryService analysisSummaryService;
+
+    @Qualifier("analysisExecutor")
+    private final ExecutorService analysisExecutor;
+
+    @Qualifier("analysisEventExecutor")
+    private final ExecutorService analysisEventExecutor;
+
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Integer> runningJobsByUser = new ConcurrentHashMap<>();
+
+    @Value("${analysis.jobs.retention-ms:600000}")
+    private long retentionMs;
+
+    @Value("${analysis.jobs.max-running-per-user:2}")
+    private int maxRunningPerUser;
+
+    @Override
+    public AnalysisJob start(String userId) {
+        AnalysisJob job = new AnalysisJob(UUID.randomUUID().toString(), userId, analysisEventExecutor);
+
+        // Shares results with the synchronous /summary endpoint in both directions
+        AnalysisSummaryDTO cached = analysisSummaryService.cached(userId);
+        if (cached != null) {
+            cached.matches().forEach(job::match);
+            job.complete(cached.matches(), cached.stale());
+            jobs.put(job.getId(), job);
+            return job;
+        }
+
+        acquireRunningSlot(userId);
+        jobs.put(job.getId(), job);
+        try {
+            analysisExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            releaseRunningSlot(userId);
+            log.warn("Rejected analysis job {} for user {}: queue is full", job.getId(), userId);
+            job.fail("Too many analyses in progress, try again shortly");
+        }
+        return job;
+    }
+
+    @Override
+    public AnalysisJob find(String jobId, String userId) {
+        AnalysisJob job = jobs.get(jobId);
+        // Another user's job is reported as missing rather than forbidden so ids can't be probed
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new AnalysisJobNotFoundException(jobId);
+        }
+        return job;
+    }
+
+    @Scheduled(fixedDelayString = "${analysis.jobs.purge-interval-ms:60000}")
+    public void purgeFinishedJobs() {
+        Instant cutoff = Instant.now().minusMillis(retentionMs);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private void acquireRunningSlot(String userId) {
+        // compute() makes the check and the increment atomic per user
+        boolean[] acquired = new boolean[1];
+        runningJobsByUser.compute(userId, (user, running) -> {
+            int current = running == null ? 0 : running;
+            acquired[0] = current < maxRunningPerUser;
+            return acquired[0] ? current + 1 : running;
+        });
+        if (!acquired[0]) {
+            throw new TooManyAnalysisJobsException(userId, maxRunningPerUser);
+        }
+    }
+
+    private void releaseRunningSlot(String userId) {
+        runningJobsByUser.computeIfPresent(userId, (user, running) -> running > 1 ? running - 1 : null);
+    }
+
+    private void run(AnalysisJob job) {
+        try {
+            AnalysisSummaryDTO summary = analysisSummaryService.summarize(job.getUserId(), job::match);
+            job.complete(summary.matches(), summary.stale());
+            log.info("Analysis job {} completed with {} matches", job.getId(), summary.matches().size());
+        } catch (Exception e) {
+            log.error("Analysis job {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            releaseRunningSlot(job.getUserId());
+        }
+    }
+}
@@ -3,7 +3,11 @@ package consensus.api.com.springboot.buisness;
 import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AnalysisService {
     List<PolyMarketInfoDTO> analyzeData(String userId);
+
+    // Same result as analyzeData(userId), with each match also handed to onMatch as soon as it is scored
+    List<PolyMarketInfoDTO> analyzeData(String userId, Consumer<PolyMarketInfoDTO> onMatch);
 }
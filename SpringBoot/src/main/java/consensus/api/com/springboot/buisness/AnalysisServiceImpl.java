@@ -1,68 +1,88 @@
 package consensus.api.com.springboot.buisness;
 
 import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
-import consensus.api.com.springboot.presentation.responses.PortfolioResponse;
+import consensus.api.com.springboot.buisness.embedding.EmbeddingCodec;
+import consensus.api.com.springboot.buisness.embedding.EmbeddingMatrix;
+import consensus.api.com.springboot.buisness.embedding.HnswIndex;
+import consensus.api.com.springboot.buisness.market.MarketSnapshot;
+import consensus.api.com.springboot.data.Asset;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AnalysisServiceImpl implements AnalysisService {
 
-    private final PolyMarketService polyMarketService;
+    private final MarketSnapshotService marketSnapshotService;
     private final GeminiService geminiService;
     private final PortfolioService portfolioService;
+    private final MeterRegistry meterRegistry;
 
     private static final double SIMILARITY_THRESHOLD = 0.717;
 
     private static final double UNIQUENESS_MARGIN = 0.02;
 
+    @Value("${market.index.top-k:100}")
+    private int topK;
+
     @Override
     public List<PolyMarketInfoDTO> analyzeData(String userId) {
+        return analyzeData(userId, match -> { });
+    }
 
-        List<PolyMarketInfoDTO> events = polyMarketService.getMarketInfo();
-        PortfolioResponse portfolio = portfolioService.fetchPortfolio(userId);
+    @Override
+    public List<PolyMarketInfoDTO> analyzeData(String userId, Consumer<PolyMarketInfoDTO> onMatch) {
 
-        List<String> eventTexts = events.stream()
-                .map(e -> e.title() + "\n" + e.description())
-                .toList();
+        Timer.Sample fetch = Timer.start(meterRegistry);
 
-       List<String> assetTexts = Arrays.stream(portfolio.getAssets())
-                .map(asset -> {
-                    String desc = asset.getDescription() == null ? "" : asset.getDescription();
-                    return String.join("\n", asset.getKeywords()) + "\n" + desc;
-                })
-                .toList();
+        List<Asset> assets = portfolioService.fetchAssetProfiles(userId);
+        if (assets.isEmpty()) {
+            fetch.stop(stageTimer("fetch"));
+            return List.of();
+        }
 
-        List<List<Double>> eventEmbeddings = geminiService.embed(eventTexts);
-        List<List<Double>> assetEmbeddings = geminiService.embed(assetTexts);
+        // Events and their embeddings are shared by all users; only this user's assets are scored here
+        MarketSnapshot snapshot = marketSnapshotService.current();
+        List<PolyMarketInfoDTO> events = snapshot.events();
+        EmbeddingMatrix eventEmbeddings = snapshot.embeddings();
 
-        if (eventEmbeddings.size() != events.size()) {
-            throw new IllegalStateException("Event embeddings count doesn't match event count");
-        }
-        if (assetEmbeddings.size() != assetTexts.size()) {
+        fetch.stop(stageTimer("fetch"));
+        Timer.Sample embed = Timer.start(meterRegistry);
+
+        EmbeddingMatrix assetEmbeddings = assetEmbeddings(assets);
+
+        if (assetEmbeddings.rows() != assets.size()) {
             throw new IllegalStateException("Asset embeddings count doesn't match asset count");
         }
 
+        embed.stop(stageTimer("embed"));
+        Timer.Sample score = Timer.start(meterRegistry);
+
         List<EventMatch> matchedEvents = new ArrayList<>();
 
-        for (int i = 0; i < events.size(); i++) {
+        for (int i : candidateEventRows(snapshot, assetEmbeddings)) {
             PolyMarketInfoDTO event = events.get(i);
-            List<Double> eventVec = eventEmbeddings.get(i);
 
             double bestSim = -1.0;
             double secondBestSim = -1.0;
             int bestAssetIndex = -1;
 
-            for (int j = 0; j < assetEmbeddings.size(); j++) {
-                double sim = cosineSimilarity(eventVec, assetEmbeddings.get(j));
+            for (int j = 0; j < assetEmbeddings.rows(); j++) {
+                // Rows are L2-normalized, so the dot product is the cosine similarity
+                double sim = eventEmbeddings.dot(i, assetEmbeddings, j);
 
                 if (sim > bestSim) {
                     secondBestSim = bestSim;
@@ -75,7 +95,7 @@ public class AnalysisServiceImpl implements AnalysisService {
 
             boolean passesThreshold = bestSim >= SIMILARITY_THRESHOLD;
 
-            boolean isUniqueMatch = (assetEmbeddings.size() <= 1)
+            boolean isUniqueMatch = (assetEmbeddings.rows() <= 1)
                     || ((bestSim - secondBestSim) >= UNIQUENESS_MARGIN);
 
             if (passesThreshold && isUniqueMatch) {
@@ -88,6 +108,11 @@ public class AnalysisServiceImpl implements AnalysisService {
                         i
                 ));
 
+                // Reported as soon as it is found; the returned list is the same set, ordered by strength
+                if (!isHeadToHead(event)) {
+                    onMatch.accept(event);
+                }
+
                 log.info("MATCH ✅ event='{}' bestSim={} secondBestSim={} margin={} matchedAssetIndex={}",
                         event.title(), bestSim, secondBestSim, (bestSim - secondBestSim), bestAssetIndex);
             } else {
@@ -103,30 +128,64 @@ public class AnalysisServiceImpl implements AnalysisService {
         matchedEvents.sort((a, b) -> Double.compare(b.bestSimilarity(), a.bestSimilarity()));
 
         // Return events ordered by match strength
-        return matchedEvents.stream()
+        List<PolyMarketInfoDTO> result = matchedEvents.stream()
                 .map(match -> events.get(match.eventIndex()))
-                .filter(event -> {
-                    String titleLower = event.title().toLowerCase();
-                    return !(titleLower.contains(" vs ") || titleLower.contains(" vs. "));
-                })
+                .filter(event -> !isHeadToHead(event))
                 .toList();
+
+        score.stop(stageTimer("score"));
+        DistributionSummary.builder("analysis.matched.events")
+                .register(meterRegistry)
+                .record(result.size());
+
+        return result;
     }
 
-    private double cosineSimilarity(List<Double> a, List<Double> b) {
-        if (a.size() != b.size()) throw new IllegalArgumentException("Different vector sizes");
+    private Timer stageTimer(String stage) {
+        return Timer.builder("analysis.stage")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
-        double dot = 0.0, normA = 0.0, normB = 0.0;
+    private static boolean isHeadToHead(PolyMarketInfoDTO event) {
+        String titleLower = event.title().toLowerCase();
+        return titleLower.contains(" vs ") || titleLower.contains(" vs. ");
+    }
 
-        for (int i = 0; i < a.size(); i++) {
-            double x = a.get(i);
-            double y = b.get(i);
-            dot += x * y;
-            normA += x * x;
-            normB += y * y;
+    // Events that are among the top-k neighbours of some asset above the threshold; only these can match
+    private SortedSet<Integer> candidateEventRows(MarketSnapshot snapshot, EmbeddingMatrix assetEmbeddings) {
+        SortedSet<Integer> rows = new TreeSet<>();
+        for (int j = 0; j < assetEmbeddings.rows(); j++) {
+            for (HnswIndex.Neighbor neighbor
+                    : snapshot.index().search(assetEmbeddings.row(j), topK, (float) SIMILARITY_THRESHOLD)) {
+                Integer row = snapshot.rowsById().get(neighbor.id());
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
         }
+        return rows;
+    }
+
+    // Profile embeddings are stored once per symbol; only profiles still waiting on the refresh job are embedded here
+    private EmbeddingMatrix assetEmbeddings(List<Asset> assets) {
+        List<Asset> missing = assets.stream()
+                .filter(asset -> asset.getEmbedding() == null)
+                .toList();
 
-        double denom = Math.sqrt(normA) * Math.sqrt(normB);
-        return denom == 0 ? 0 : dot / denom;
+        EmbeddingMatrix fetched = missing.isEmpty()
+                ? EmbeddingMatrix.empty()
+                : geminiService.embed(missing.stream().map(Asset::embeddingText).toList());
+
+        List<float[]> embeddings = new ArrayList<>(assets.size());
+        int next = 0;
+        for (Asset asset : assets) {
+            embeddings.add(asset.getEmbedding() == null
+                    ? fetched.row(next++)
+                    : EmbeddingCodec.decode(asset.getEmbedding()));
+        }
+        return EmbeddingMatrix.of(embeddings);
     }
 
     public record EventMatch(
@@ -0,0 +1,17 @@
+package consensus.api.com.springboot.buisness;
+
+import consensus.api.com.springboot.buisness.DTO.AnalysisSummaryDTO;
+import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+
+import java.util.function.Consumer;
+
+public interface AnalysisSummaryService {
+    // Fresh cached result, or a new analysis; if that fails, the last good result marked stale
+    AnalysisSummaryDTO summarize(String userId);
+
+    // Same as summarize(userId), handing each match to onMatch as it is found or replayed
+    AnalysisSummaryDTO summarize(String userId, Consumer<PolyMarketInfoDTO> onMatch);
+
+    // Cached result still within its freshness window, or null
+    AnalysisSummaryDTO cached(String userId);
+}
@@ -0,0 +1,153 @@
+package consensus.api.com.springboot.buisness;
+
+import consensus.api.com.springboot.buisness.DTO.AnalysisSummaryDTO;
+import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+import consensus.api.com.springboot.buisness.retry.Backoff;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Per-user analysis results with a last-known-good fallback. Results are kept in the
+ * {@code analysisSummary} cache well past their freshness window; when a new analysis fails the
+ * previous result is served at once, marked stale, and the analysis is retried in the background
+ * with backoff until it succeeds or runs out of attempts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisSummaryServiceImpl implements AnalysisSummaryService {
+
+    private static final String SUMMARY_CACHE = "analysisSummary";
+
+    private final AnalysisService analysisService;
+    private final MarketSnapshotService marketSnapshotService;
+    private final CacheManager cacheManager;
+
+    @Qualifier("analysisExecutor")
+    private final ExecutorService analysisExecutor;
+
+    // Users whose last analysis failed; dueAt is Long.MAX_VALUE while a retry is running
+    private final Map<String, Retry> retries = new ConcurrentHashMap<>();
+
+    @Value("${analysis.summary.fresh-for-ms:300000}")
+    private long freshForMs;
+
+    @Value("${analysis.summary.retry.initial-backoff-ms:5000}")
+    private long initialBackoffMs;
+
+    @Value("${analysis.summary.retry.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    @Value("${analysis.summary.retry.max-attempts:8}")
+    private int maxAttempts;
+
+    @Override
+    public AnalysisSummaryDTO summarize(String userId) {
+        return summarize(userId, match -> { });
+    }
+
+    @Override
+    public AnalysisSummaryDTO summarize(String userId, Consumer<PolyMarketInfoDTO> onMatch) {
+        AnalysisSummaryDTO cached = cached(userId);
+        if (cached != null) {
+            cached.matches().forEach(onMatch);
+            return cached;
+        }
+
+        try {
+            return analyze(userId, onMatch);
+        } catch (RuntimeException e) {
+            AnalysisSummaryDTO lastGood = stored(userId);
+            if (lastGood == null) {
+                throw e;
+            }
+
+            log.warn("Analysis for user {} failed, serving the result from {}", userId, lastGood.analyzedAt(), e);
+            retries.putIfAbsent(userId, new Retry(0, dueAfter(0)));
+            lastGood.matches().forEach(onMatch);
+            return new AnalysisSummaryDTO(lastGood.matches(), lastGood.analyzedAt(), true);
+        }
+    }
+
+    @Override
+    public AnalysisSummaryDTO cached(String userId) {
+        AnalysisSummaryDTO stored = stored(userId);
+        boolean fresh = stored != null && !stored.stale()
+                && stored.analyzedAt().isAfter(Instant.now().minusMillis(freshForMs));
+        return fresh ? stored : null;
+    }
+
+    @Scheduled(fixedDelayString = "${analysis.summary.retry.check-interval-ms:1000}")
+    public void retryFailedAnalyses() {
+        long now = System.currentTimeMillis();
+        retries.forEach((userId, retry) -> {
+            if (retry.dueAt() > now || !retries.replace(userId, retry, new Retry(retry.attempt(), Long.MAX_VALUE))) {
+                return;
+            }
+            try {
+                analysisExecutor.execute(() -> retry(userId, retry.attempt()));
+            } catch (RejectedExecutionException e) {
+                // Queue is full of user work; try again on the next tick
+                retries.put(userId, retry);
+            }
+        });
+    }
+
+    private void retry(String userId, int attempt) {
+        try {
+            analyze(userId, match -> { });
+            log.info("Background analysis for user {} succeeded after {} retries", userId, attempt + 1);
+        } catch (RuntimeException e) {
+            if (attempt + 1 >= maxAttempts) {
+                retries.remove(userId);
+                log.warn("Giving up background analysis for user {} after {} retries", userId, attempt + 1, e);
+            } else {
+                retries.put(userId, new Retry(attempt + 1, dueAfter(attempt + 1)));
+                log.debug("Background analysis for user {} failed, retry {}", userId, attempt + 2, e);
+            }
+        }
+    }
+
+    private AnalysisSummaryDTO analyze(String userId, Consumer<PolyMarketInfoDTO> onMatch) {
+        List<PolyMarketInfoDTO> matches = analysisService.analyzeData(userId, onMatch);
+        AnalysisSummaryDTO summary = new AnalysisSummaryDTO(matches, Instant.now(), marketSnapshotService.isStale());
+
+        Cache cache = cacheManager.getCache(SUMMARY_CACHE);
+        if (cache != null) {
+            cache.put(userId, summary);
+        }
+        if (!summary.stale()) {
+            retries.remove(userId);
+        }
+        return summary;
+    }
+
+    private AnalysisSummaryDTO stored(String userId) {
+        Cache cache = cacheManager.getCache(SUMMARY_CACHE);
+        Cache.ValueWrapper wrapper = cache == null ? null : cache.get(userId);
+        // Entries written before results carried a timestamp are ignored
+        return wrapper != null && wrapper.get() instanceof AnalysisSummaryDTO summary ? summary : null;
+    }
+
+    private long dueAfter(int attempt) {
+        Backoff backoff = new Backoff(Duration.ofMillis(initialBackoffMs), Duration.ofMillis(maxBackoffMs));
+        return System.currentTimeMillis() + backoff.delay(attempt).toMillis();
+    }
+
+    private record Retry(int attempt, long dueAt) {}
+}
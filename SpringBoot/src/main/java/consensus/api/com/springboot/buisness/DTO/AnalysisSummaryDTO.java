@@ -0,0 +1,7 @@
+package consensus.api.com.springboot.buisness.DTO;
+
+import java.time.Instant;
+import java.util.List;
+
+// stale: computed from a market snapshot whose refresh is failing, or served after the analysis itself failed
+public record AnalysisSummaryDTO(List<PolyMarketInfoDTO> matches, Instant analyzedAt, boolean stale) {}
@@ -1,9 +1,9 @@
 package consensus.api.com.springboot.buisness;
 
-import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+import consensus.api.com.springboot.buisness.embedding.EmbeddingMatrix;
 
 import java.util.List;
 
 public interface GeminiService {
-    List<List<Double>> embed(List<String> texts);
+    EmbeddingMatrix embed(List<String> texts);
 }
@@ -2,7 +2,11 @@ package consensus.api.com.springboot.buisness;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import consensus.api.com.springboot.buisness.embedding.EmbeddingMatrix;
+import consensus.api.com.springboot.buisness.embedding.EmbeddingStore;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -13,59 +17,135 @@ import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class GeminiServiceImpl implements GeminiService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private static final String MODEL = "models/gemini-embedding-001";
+    private static final String TASK_TYPE = "SEMANTIC_SIMILARITY";
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    @Qualifier("geminiRestTemplate")
+    private final RestTemplate restTemplate;
+
+    @Qualifier("geminiExecutor")
+    private final ExecutorService geminiExecutor;
+
+    private final EmbeddingStore embeddingStore;
+
     @Value("${gemini.api.key}")
     private String apiKey;
 
+    @Value("${gemini.embedding.batch-size:100}")
+    private int batchSize;
+
     @Override
-    public List<List<Double>> embed(List<String> texts) {
+    public EmbeddingMatrix embed(List<String> texts) {
+        List<float[]> allEmbeddings = new ArrayList<>(texts.size());
+        List<Integer> missIndexes = new ArrayList<>();
+
+        for (int i = 0; i < texts.size(); i++) {
+            float[] stored = embeddingStore.get(MODEL, TASK_TYPE, texts.get(i));
+            allEmbeddings.add(stored);
+            if (stored == null) {
+                missIndexes.add(i);
+            }
+        }
+
+        if (missIndexes.isEmpty()) {
+            return EmbeddingMatrix.of(allEmbeddings);
+        }
+
+        List<String> missTexts = missIndexes.stream().map(texts::get).toList();
+        List<float[]> fetched = embedRemote(missTexts);
+
+        for (int i = 0; i < missIndexes.size(); i++) {
+            allEmbeddings.set(missIndexes.get(i), fetched.get(i));
+            embeddingStore.put(MODEL, TASK_TYPE, missTexts.get(i), fetched.get(i));
+        }
+
+        log.info("Embedded {} texts ({} from store, {} from Gemini)",
+                texts.size(), texts.size() - missIndexes.size(), missIndexes.size());
+        return EmbeddingMatrix.of(allEmbeddings);
+    }
+
+    private List<float[]> embedRemote(List<String> texts) {
+        // One batchEmbedContents call per chunk, chunks run concurrently on the bounded gemini executor
+        List<CompletableFuture<List<float[]>>> chunks = new ArrayList<>();
+        for (int from = 0; from < texts.size(); from += batchSize) {
+            List<String> chunk = texts.subList(from, Math.min(from + batchSize, texts.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> embedBatch(chunk), geminiExecutor));
+        }
+
+        try {
+            // Joining in submission order keeps embeddings aligned with the input texts
+            List<float[]> allEmbeddings = new ArrayList<>(texts.size());
+            for (CompletableFuture<List<float[]>> chunk : chunks) {
+                allEmbeddings.addAll(chunk.join());
+            }
+            return allEmbeddings;
+
+        } catch (CompletionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new RuntimeException("Failed to embed content using Gemini", e.getCause());
+        }
+    }
+
+    private List<float[]> embedBatch(List<String> texts) {
 
         HttpHeaders headers = new HttpHeaders();
         headers.set("x-goog-api-key", apiKey);
         headers.setContentType(org.springframework.http.MediaType.APPLICATION_JSON);
 
-        String url = "https://generativelanguage.googleapis.com/v1beta/models/gemini-embedding-001:embedContent";
+        String url = "/v1beta/" + MODEL + ":batchEmbedContents";
 
         try {
-            List<List<Double>> allEmbeddings = new ArrayList<>(texts.size());
+            var rootNode = objectMapper.createObjectNode();
+            var requestsArray = rootNode.putArray("requests");
 
             for (String text : texts) {
-                // Build request body for ONE text
-                var rootNode = objectMapper.createObjectNode();
-                var contentNode = rootNode.putObject("content");
-                var partsArray = contentNode.putArray("parts");
+                var requestNode = requestsArray.addObject();
+                requestNode.put("model", MODEL);
+                requestNode.putObject("content").putArray("parts").addObject().put("text", text);
+                requestNode.put("taskType", TASK_TYPE);
+            }
 
-                partsArray.addObject().put("text", text);
-                rootNode.put("taskType", "SEMANTIC_SIMILARITY");
+            String bodyContent = objectMapper.writeValueAsString(rootNode);
+            HttpEntity<String> entity = new HttpEntity<>(bodyContent, headers);
 
-                String bodyContent = objectMapper.writeValueAsString(rootNode);
-                HttpEntity<String> entity = new HttpEntity<>(bodyContent, headers);
+            ResponseEntity<String> response =
+                    restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
 
-                ResponseEntity<String> response =
-                        restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
+            JsonNode embeddingsNode = objectMapper.readTree(response.getBody()).path("embeddings");
 
-                JsonNode root = objectMapper.readTree(response.getBody());
-                JsonNode values = root.path("embedding").path("values");
+            if (embeddingsNode.size() != texts.size()) {
+                throw new IllegalStateException("Gemini returned " + embeddingsNode.size()
+                        + " embeddings for " + texts.size() + " texts");
+            }
+
+            List<float[]> embeddings = new ArrayList<>(texts.size());
+            for (JsonNode embeddingNode : embeddingsNode) {
+                JsonNode values = embeddingNode.path("values");
 
-                List<Double> embedding = new ArrayList<>(values.size());
-                for (JsonNode v : values) {
-                    embedding.add(v.asDouble());
+                float[] embedding = new float[values.size()];
+                for (int i = 0; i < embedding.length; i++) {
+                    embedding[i] = values.get(i).floatValue();
                 }
 
-                allEmbeddings.add(embedding);
+                embeddings.add(embedding);
             }
 
-            return allEmbeddings;
+            log.info("Embedded batch of {} texts", texts.size());
+            return embeddings;
 
         } catch (Exception e) {
-            throw new RuntimeException("Failed to embed content using Gemini", e);
+            throw new RuntimeException("Failed to embed batch of " + texts.size() + " texts using Gemini", e);
         }
     }
 }
@@ -0,0 +1,12 @@
+package consensus.api.com.springboot.buisness;
+
+import consensus.api.com.springboot.buisness.market.MarketSnapshot;
+
+public interface MarketSnapshotService {
+    MarketSnapshot current();
+
+    void refresh();
+
+    // True while the latest refresh attempt failed and current() is serving an older snapshot
+    boolean isStale();
+}
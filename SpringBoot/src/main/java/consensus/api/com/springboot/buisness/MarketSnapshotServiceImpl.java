@@ -0,0 +1,175 @@
+package consensus.api.com.springboot.buisness;
+
+import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+import consensus.api.com.springboot.buisness.embedding.EmbeddingMatrix;
+import consensus.api.com.springboot.buisness.embedding.HnswIndex;
+import consensus.api.com.springboot.buisness.market.EventDelta;
+import consensus.api.com.springboot.buisness.market.EventStore;
+import consensus.api.com.springboot.buisness.market.MarketDataNotReadyException;
+import consensus.api.com.springboot.buisness.market.MarketSnapshot;
+import consensus.api.com.springboot.buisness.retry.Backoff;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MarketSnapshotServiceImpl implements MarketSnapshotService {
+
+    private final PolyMarketService polyMarketService;
+    private final GeminiService geminiService;
+    private final HnswIndex eventIndex;
+
+    @Qualifier("marketSnapshotExecutor")
+    private final ExecutorService marketSnapshotExecutor;
+
+    private final EventStore eventStore = new EventStore();
+    private final AtomicReference<MarketSnapshot> snapshot = new AtomicReference<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final CountDownLatch firstPublished = new CountDownLatch(1);
+
+    @Value("${market.snapshot.refresh-interval-ms:300000}")
+    private long refreshIntervalMs;
+
+    @Value("${market.snapshot.retry.initial-backoff-ms:5000}")
+    private long initialBackoffMs;
+
+    @Value("${market.snapshot.first-wait-ms:5000}")
+    private long firstWaitMs;
+
+    // Epoch millis of the next scheduled attempt; failed attempts pull it in with backoff
+    private volatile long nextRefreshAt;
+    private volatile int failedAttempts;
+
+    @Override
+    public MarketSnapshot current() {
+        MarketSnapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+
+        // While backing off from a failed first refresh, fail fast instead of waiting out the timeout
+        if (failedAttempts > 0 && System.currentTimeMillis() < nextRefreshAt) {
+            throw new MarketDataNotReadyException("Market data is unavailable, retrying in the background");
+        }
+
+        // Only requests arriving before the warmup finishes wait, and never longer than firstWaitMs
+        try {
+            if (!firstPublished.await(firstWaitMs, TimeUnit.MILLISECONDS)) {
+                throw new MarketDataNotReadyException("Market data is still loading");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MarketDataNotReadyException("Interrupted while waiting for market data");
+        }
+        return snapshot.get();
+    }
+
+    @Override
+    public boolean isStale() {
+        return failedAttempts > 0 && snapshot.get() != null;
+    }
+
+    // Builds the first snapshot in the background so no request thread pays for it
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        dispatchRefresh();
+    }
+
+    // The tick only dispatches: a refresh walks every PolyMarket page and embeds, which would hold a scheduler thread
+    @Scheduled(fixedDelayString = "${market.snapshot.check-interval-ms:1000}")
+    public void refreshIfDue() {
+        if (System.currentTimeMillis() >= nextRefreshAt) {
+            dispatchRefresh();
+        }
+    }
+
+    private void dispatchRefresh() {
+        if (!refreshQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            marketSnapshotExecutor.execute(() -> {
+                try {
+                    refresh();
+                } catch (RuntimeException e) {
+                    log.warn("Market snapshot refresh failed (attempt {}), serving the previous snapshot", failedAttempts, e);
+                } finally {
+                    refreshQueued.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshQueued.set(false);
+        }
+    }
+
+    @Override
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            publish();
+            failedAttempts = 0;
+            nextRefreshAt = System.currentTimeMillis() + refreshIntervalMs;
+        } catch (RuntimeException e) {
+            Backoff backoff = new Backoff(Duration.ofMillis(initialBackoffMs), Duration.ofMillis(refreshIntervalMs));
+            nextRefreshAt = System.currentTimeMillis() + backoff.delay(failedAttempts).toMillis();
+            failedAttempts++;
+            throw e;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void publish() {
+        List<PolyMarketInfoDTO> events = polyMarketService.getMarketInfo();
+
+        // Only new or re-worded events are embedded, so embedding cost follows churn, not the event count
+        EventDelta delta = eventStore.diff(events);
+        List<PolyMarketInfoDTO> toEmbed = delta.toEmbed();
+        EmbeddingMatrix embedded = toEmbed.isEmpty()
+                ? EmbeddingMatrix.empty()
+                : geminiService.embed(toEmbed.stream().map(EventStore::embeddingText).toList());
+
+        eventStore.apply(events, delta, embedded);
+        updateIndex(delta, embedded);
+
+        EmbeddingMatrix embeddings = EmbeddingMatrix.of(events.stream()
+                .map(event -> eventStore.embedding(event.id()))
+                .toList());
+
+        MarketSnapshot previous = snapshot.get();
+        long version = previous == null ? 1 : previous.version() + 1;
+
+        snapshot.set(MarketSnapshot.of(version, Instant.now(), events, embeddings, eventIndex));
+        firstPublished.countDown();
+        log.info("Published market snapshot v{} with {} events ({} added, {} changed, {} closed)",
+                version, events.size(), delta.added().size(), delta.changed().size(), delta.closed().size());
+    }
+
+    // Insert or replace re-embedded events and drop the ones that closed
+    private void updateIndex(EventDelta delta, EmbeddingMatrix embedded) {
+        List<PolyMarketInfoDTO> toEmbed = delta.toEmbed();
+        for (int i = 0; i < toEmbed.size(); i++) {
+            eventIndex.insert(toEmbed.get(i).id(), embedded.row(i));
+        }
+        delta.closed().forEach(eventIndex::remove);
+    }
+}
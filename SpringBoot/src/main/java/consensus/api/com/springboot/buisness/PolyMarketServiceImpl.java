@@ -1,116 +1,76 @@
 package consensus.api.com.springboot.buisness;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import consensus.api.com.springboot.buisness.DTO.MarketDTO;
-import consensus.api.com.springboot.buisness.DTO.OutcomePriceDTO;
+import com.fasterxml.jackson.core.JsonFactory;
 import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+import consensus.api.com.springboot.buisness.market.PolyMarketEventParser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PolyMarketServiceImpl implements PolyMarketService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PolyMarketEventParser eventParser = new PolyMarketEventParser(new JsonFactory());
 
-    @Override
-    public List<PolyMarketInfoDTO> getMarketInfo() {
-        HttpHeaders headers = new HttpHeaders();
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        try {
-            String searchUrl = UriComponentsBuilder
-                    .fromHttpUrl("https://gamma-api.polymarket.com/events?closed=false&limit=25&order=volume24hr&active=true")
-                    .toUriString();
-
-            ResponseEntity<String> response =
-                    restTemplate.exchange(searchUrl, HttpMethod.GET, entity, String.class);
-
-            JsonNode root = objectMapper.readTree(response.getBody());
-            List<PolyMarketInfoDTO> results = new ArrayList<>();
+    @Qualifier("polyMarketRestTemplate")
+    private final RestTemplate restTemplate;
 
-            for (JsonNode eventNode : root) {
-                String eventId = eventNode.path("id").asText();
-                String title = eventNode.path("title").asText();
-                String description = eventNode.path("description").asText();
-                String eventImage = eventNode.path("image").asText(null);
+    @Value("${polymarket.events.limit:100}")
+    private int eventLimit;
 
-                List<MarketDTO> markets = new ArrayList<>();
-                JsonNode marketsNode = eventNode.path("markets");
+    // Ceiling on events per refresh; 0 or less keeps paging until PolyMarket returns a short page
+    @Value("${polymarket.events.max-events:5000}")
+    private int maxEvents;
 
-                if (marketsNode.isArray()) {
-                    for (JsonNode marketNode : marketsNode) {
-                        String marketId = marketNode.path("id").asText();
-                        String question = marketNode.path("question").asText();
-                        String image = marketNode.path("image").asText(eventImage);
-
-                        List<String> outcomes = parseStringJsonArray(marketNode.path("outcomes").asText("[]"));
-                        List<String> prices   = parseStringJsonArray(marketNode.path("outcomePrices").asText("[]"));
+    @Override
+    public List<PolyMarketInfoDTO> getMarketInfo() {
+        try {
+            // Events are keyed by id because volume ordering can shift an event across page boundaries
+            Map<String, PolyMarketInfoDTO> results = new LinkedHashMap<>();
 
-                        // ✅ keep outcomes even if prices missing
-                        List<OutcomePriceDTO> selections = zipKeepAllOutcomes(outcomes, prices);
+            boolean unbounded = maxEvents <= 0;
+            for (int offset = 0; unbounded || offset < maxEvents; offset += eventLimit) {
+                int limit = unbounded ? eventLimit : Math.min(eventLimit, maxEvents - offset);
+                List<PolyMarketInfoDTO> page = fetchPage(offset, limit);
+                page.forEach(event -> results.putIfAbsent(event.id(), event));
 
-                        markets.add(new MarketDTO(
-                                marketId,
-                                question,
-                                image,
-                                selections
-                        ));
-                    }
+                if (page.size() < limit) {
+                    break;
                 }
-
-                results.add(new PolyMarketInfoDTO(
-                        eventId,
-                        title,
-                        description,
-                        markets
-                ));
             }
 
-            return results;
+            log.info("Fetched {} active events from PolyMarket", results.size());
+            return new ArrayList<>(results.values());
         } catch (Exception e) {
             log.error("Failed to fetch market info from PolyMarket", e);
             throw new RuntimeException("Failed to fetch market info from PolyMarket", e);
         }
     }
 
-    private List<String> parseStringJsonArray(String raw) {
-        try {
-            if (raw == null || raw.isBlank()) return Collections.emptyList();
-            return objectMapper.readValue(raw, new TypeReference<List<String>>() {});
-        } catch (Exception e) {
-            return Collections.emptyList();
-        }
-    }
-
-    private List<OutcomePriceDTO> zipKeepAllOutcomes(List<String> outcomes, List<String> pricesRaw) {
-        List<OutcomePriceDTO> out = new ArrayList<>(outcomes.size());
-
-        for (int i = 0; i < outcomes.size(); i++) {
-            Double price = null;
-
-            if (i < pricesRaw.size()) {
-                try {
-                    price = Double.parseDouble(pricesRaw.get(i));
-                } catch (Exception ignored) {
-                }
-            }
-
-            out.add(new OutcomePriceDTO(outcomes.get(i), price));
-        }
-
-        return out;
+    private List<PolyMarketInfoDTO> fetchPage(int offset, int limit) {
+        String searchUrl = UriComponentsBuilder
+                .fromPath("/events")
+                .queryParam("closed", false)
+                .queryParam("limit", limit)
+                .queryParam("offset", offset)
+                .queryParam("order", "volume24hr")
+                .queryParam("active", true)
+                .toUriString();
+
+        // Parse straight off the response stream so a page never materializes as a String or tree
+        return restTemplate.execute(searchUrl, HttpMethod.GET, null,
+                response -> eventParser.parse(response.getBody()));
     }
 }
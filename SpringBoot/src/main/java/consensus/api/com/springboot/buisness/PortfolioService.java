@@ -1,13 +1,19 @@
 package consensus.api.com.springboot.buisness;
 
+import consensus.api.com.springboot.data.Asset;
 import consensus.api.com.springboot.presentation.request.AssetRequest;
 import consensus.api.com.springboot.presentation.responses.PortfolioResponse;
 
+import java.util.List;
+
 public interface PortfolioService {
     void createPortfolio(String userId);
 
     PortfolioResponse fetchPortfolio(String userId);
 
+    // Symbol, keywords, description and embedding of each asset, without fetching quotes
+    List<Asset> fetchAssetProfiles(String userId);
+
     void addAssetToPortfolio(String userId, AssetRequest assetRequest);
 
     void removeAssetFromPortfolio(String userId, String assetSymbol);
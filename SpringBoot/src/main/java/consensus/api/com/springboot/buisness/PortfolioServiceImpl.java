@@ -1,18 +1,33 @@
 package consensus.api.com.springboot.buisness;
 
+import consensus.api.com.springboot.data.Asset;
 import consensus.api.com.springboot.data.Portfolio;
 import consensus.api.com.springboot.data.PortfolioRepo;
+import consensus.api.com.springboot.data.SymbolProfile;
 import consensus.api.com.springboot.presentation.request.AssetRequest;
 import consensus.api.com.springboot.presentation.responses.AssetResponse;
 import consensus.api.com.springboot.presentation.responses.PortfolioResponse;
+import consensus.api.com.springboot.presentation.responses.PriceStatus;
 import consensus.api.com.springboot.buisness.DTO.StockDTO;
+import consensus.api.com.springboot.buisness.quote.QuoteCache;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PortfolioServiceImpl implements PortfolioService {
@@ -21,93 +36,147 @@ public class PortfolioServiceImpl implements PortfolioService {
 
     private final StockService stockService;
 
-    @Override
-    public void createPortfolio(String userId) {
-        Portfolio portfolio = Portfolio.builder()
-                .userId(userId)
-                .assets(new ArrayList<>())
-                .build();
+    private final SymbolProfileService symbolProfileService;
 
-        if (portfolioRepo.findByUserId(userId) != null) {
-            return;
-        }
+    private final QuoteCache quoteCache;
 
-        portfolioRepo.save(portfolio);
+    @Qualifier("quoteExecutor")
+    private final ExecutorService quoteExecutor;
+
+    @Value("${portfolio.quotes.deadline-ms:2500}")
+    private long quoteDeadlineMs;
+
+    @Override
+    public void createPortfolio(String userId) {
+        portfolioRepo.createIfAbsent(userId);
     }
 
     @Override
     public PortfolioResponse fetchPortfolio(String userId) {
         Portfolio portfolio = portfolioRepo.findByUserId(userId);
 
-        AssetResponse[] assetResponses = portfolio.getAssets().stream()
-                .map(asset -> AssetResponse.builder()
-                        .symbol(asset.getSymbol())
-                        .name(asset.getName())
-                        .quantity(asset.getQuantity())
-                        .value(stockService.searchAndGetPrice(asset.getSymbol()).price())
-                        .fullExchangeName(asset.getFullExchangeName())
-                        .keywords(asset.getKeywords())
-                        .description(asset.getDescription())
-                        .build())
-                .toArray(AssetResponse[]::new);
+        // One batched quote lookup under a deadline; positions it does not price fall back below
+        List<String> symbols = portfolio.getAssets().stream().map(Asset::getSymbol).toList();
+        Map<String, StockDTO> quotes = awaitQuotes(symbols);
+        Map<String, SymbolProfile> profiles = symbolProfileService.findAll(symbols);
+
+        AssetResponse[] assetResponses = new AssetResponse[symbols.size()];
+        for (int i = 0; i < assetResponses.length; i++) {
+            Asset asset = portfolio.getAssets().get(i);
+            StockDTO quote = quotes.get(asset.getSymbol().trim().toUpperCase());
+            Asset profiled = withProfile(asset, profiles.get(SymbolProfile.idFor(asset.getSymbol())));
+
+            AssetResponse.AssetResponseBuilder response = AssetResponse.builder()
+                    .symbol(asset.getSymbol())
+                    .name(profiled.getName())
+                    .quantity(asset.getQuantity())
+                    .fullExchangeName(profiled.getFullExchangeName())
+                    .keywords(profiled.getKeywords())
+                    .description(profiled.getDescription());
+
+            if (quote != null && quote.price() != null) {
+                response.value(quote.price()).priceStatus(PriceStatus.LIVE);
+            } else {
+                // Fall back to the last quote seen, then to the price recorded when the asset was added
+                StockDTO lastQuote = quoteCache.peek(asset.getSymbol());
+                double lastPrice = lastQuote != null && lastQuote.price() != null ? lastQuote.price() : asset.getValue();
+                response.value(lastPrice)
+                        .priceStatus(lastPrice > 0 ? PriceStatus.STALE : PriceStatus.MISSING);
+            }
 
+            assetResponses[i] = response.build();
+        }
 
         return PortfolioResponse.fromModel(portfolio, assetResponses);
     }
 
     @Override
-    public void addAssetToPortfolio(String userId, AssetRequest assetRequest) {
-        Portfolio portfolio = portfolioRepo.findByUserId(userId);
-
-        if (portfolio == null) {
-            createPortfolio(userId);
+    public List<Asset> fetchAssetProfiles(String userId) {
+        Portfolio portfolio = portfolioRepo.findAssetProfilesByUserId(userId);
+        if (portfolio == null || portfolio.getAssets() == null) {
+            return List.of();
         }
 
-        portfolio = portfolioRepo.findByUserId(userId);
-
-        StockDTO stock = stockService.searchAndGetPrice(assetRequest.getSymbol());
+        Map<String, SymbolProfile> profiles = symbolProfileService.findAll(
+                portfolio.getAssets().stream().map(Asset::getSymbol).toList());
+        return portfolio.getAssets().stream()
+                .map(asset -> withProfile(asset, profiles.get(SymbolProfile.idFor(asset.getSymbol()))))
+                .toList();
+    }
 
-        if (stock == null) {
-            return;
+    // Catalog profile over the asset, falling back to fields stored inline before the catalog existed
+    private static Asset withProfile(Asset asset, SymbolProfile profile) {
+        if (profile == null) {
+            return asset;
         }
 
-        // If asset already exists, update quantity
-        for (var asset : portfolio.getAssets()) {
-            if (asset.getSymbol().equalsIgnoreCase(assetRequest.getSymbol())) {
-                asset.setQuantity(asset.getQuantity() + assetRequest.getQuantity());
-                portfolioRepo.save(portfolio);
-                return;
-            }
+        return Asset.builder()
+                .id(asset.getId())
+                .symbol(asset.getSymbol())
+                .quantity(asset.getQuantity())
+                .value(asset.getValue())
+                .name(profile.getName())
+                .fullExchangeName(profile.getFullExchangeName())
+                .keywords(profile.getKeywords())
+                .description(profile.getDescription())
+                .embedding(profile.getEmbedding() != null ? profile.getEmbedding() : asset.getEmbedding())
+                .build();
+    }
+
+    private Map<String, StockDTO> awaitQuotes(List<String> symbols) {
+        CompletableFuture<Map<String, StockDTO>> quotes;
+        try {
+            quotes = CompletableFuture.supplyAsync(() -> stockService.searchAndGetPrices(symbols), quoteExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Quote executor saturated, serving {} positions without live prices", symbols.size());
+            return Map.of();
         }
 
-        var asset = assetRequest.toAsset();
-        asset.setValue(stock.price());
-        asset.setName(stock.name());
-        asset.setFullExchangeName(stock.fullExchangeName());
+        try {
+            return quotes.get(quoteDeadlineMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Does not interrupt a running fetch, but skips one still queued
+            quotes.cancel(false);
+            return Map.of();
+        } catch (ExecutionException e) {
+            log.warn("Quote fetch failed", e.getCause());
+            return Map.of();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Map.of();
+        }
+    }
 
-        var stockInfo = stockService.searchAndGetInfo(assetRequest.getSymbol());
+    @Override
+    public void addAssetToPortfolio(String userId, AssetRequest assetRequest) {
+        // If asset already exists, update quantity in place
+        if (portfolioRepo.incrementAssetQuantity(userId, assetRequest.getSymbol(), assetRequest.getQuantity())) {
+            return;
+        }
 
-        String[] keywords = new String[2];
+        // Enrichment is shared per symbol, so a ticker any user already holds costs no upstream calls
+        SymbolProfile profile = symbolProfileService.getOrCreate(assetRequest.getSymbol());
 
-        keywords[0] = stockInfo.industry();
-        keywords[1] = stockInfo.sector();
+        if (profile == null) {
+            return;
+        }
 
-        String description = stockService.getStockSummary(assetRequest.getSymbol());
+        // The catalog only describes the symbol; the price comes from the shared quote cache
+        StockDTO quote = stockService.searchAndGetPrice(assetRequest.getSymbol());
 
-        asset.setDescription(description);
-        asset.setKeywords(keywords);
-        portfolio.getAssets().add(asset);
-        portfolioRepo.save(portfolio);
+        var asset = assetRequest.toAsset();
+        asset.setValue(quote == null || quote.price() == null ? 0 : quote.price());
 
+        createPortfolio(userId);
+        if (!portfolioRepo.pushAsset(userId, asset)) {
+            // Another request added the same symbol while this one was describing it
+            portfolioRepo.incrementAssetQuantity(userId, assetRequest.getSymbol(), assetRequest.getQuantity());
+        }
     }
 
     @Override
     public void removeAssetFromPortfolio(String userId, String assetSymbol) {
-        Portfolio portfolio = portfolioRepo.findByUserId(userId);
-        if (portfolio != null) {
-            portfolio.getAssets().removeIf(asset -> asset.getSymbol().equalsIgnoreCase(assetSymbol));
-            portfolioRepo.save(portfolio);
-        }
+        portfolioRepo.pullAsset(userId, assetSymbol);
     }
 
 
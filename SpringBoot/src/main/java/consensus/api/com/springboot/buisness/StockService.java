@@ -3,10 +3,19 @@ package consensus.api.com.springboot.buisness;
 import consensus.api.com.springboot.buisness.DTO.StockDTO;
 import consensus.api.com.springboot.buisness.DTO.StockInfoDTO;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface StockService {
     StockDTO searchAndGetPrice(String stockSymbol);
 
+    Map<String, StockDTO> searchAndGetPrices(Collection<String> stockSymbols);
+
     StockInfoDTO searchAndGetInfo(String stockSymbol);
 
     String getStockSummary(String stockSymbol);
+
+    // Equities matching a free-text query, straight from Yahoo search
+    List<StockDTO> searchSymbols(String query);
 }
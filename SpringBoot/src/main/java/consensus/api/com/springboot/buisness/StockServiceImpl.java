@@ -4,21 +4,131 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import consensus.api.com.springboot.buisness.DTO.StockDTO;
 import consensus.api.com.springboot.buisness.DTO.StockInfoDTO;
+import consensus.api.com.springboot.buisness.quote.QuoteCache;
+import consensus.api.com.springboot.configuration.outbound.HedgedClient;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class StockServiceImpl implements StockService {
-    private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    @Qualifier("yahooClient")
+    private final HedgedClient yahooClient;
+
+    @Qualifier("pythonRestTemplate")
+    private final RestTemplate pythonRestTemplate;
+
+    private final QuoteCache quoteCache;
+
+    @Qualifier("quoteExecutor")
+    private final ExecutorService quoteExecutor;
+
+    @Value("${quotes.batch.max-symbols:20}")
+    private int maxSymbolsPerRequest;
 
     @Override
     public StockDTO searchAndGetPrice(String symbolQuery) {
+        return quoteCache.get(symbolQuery, this::fetchPrice);
+    }
+
+    @Override
+    public Map<String, StockDTO> searchAndGetPrices(Collection<String> symbols) {
+        return quoteCache.getAll(symbols, this::fetchPrices);
+    }
+
+    // Chunks are fetched concurrently, so a large portfolio costs about one spark round-trip rather than one per chunk
+    private Map<String, StockDTO> fetchPrices(List<String> symbols) {
+        List<FutureTask<Map<String, StockDTO>>> chunks = new ArrayList<>();
+        for (int from = 0; from < symbols.size(); from += maxSymbolsPerRequest) {
+            List<String> chunk = symbols.subList(from, Math.min(from + maxSymbolsPerRequest, symbols.size()));
+            FutureTask<Map<String, StockDTO>> task = new FutureTask<>(() -> fetchSpark(chunk));
+            chunks.add(task);
+            // The last chunk is kept for this thread; a rejected one is simply run below as well
+            if (from + maxSymbolsPerRequest < symbols.size()) {
+                try {
+                    quoteExecutor.execute(task);
+                } catch (RejectedExecutionException ignored) {
+                }
+            }
+        }
+
+        Map<String, StockDTO> quotes = new HashMap<>();
+        // Latest chunks first: the kept one, then those least likely to have been picked up by the pool
+        for (FutureTask<Map<String, StockDTO>> task : chunks.reversed()) {
+            // Runs the chunk here unless a pool thread already has; callers often sit on quoteExecutor
+            // themselves, and waiting on queued work behind them could starve the pool
+            task.run();
+            try {
+                quotes.putAll(task.get());
+            } catch (ExecutionException e) {
+                log.error("Error while fetching a chunk of stock data", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return quotes;
+    }
+
+    // The spark endpoint returns the same meta block as the chart endpoint, for several symbols at once
+    private Map<String, StockDTO> fetchSpark(List<String> symbols) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64)");
+        headers.set("Accept", "application/json");
+        headers.set("Accept-Language", "en-US,en;q=0.9");
+        HttpEntity<Void> entity = new HttpEntity<>(headers);
+
+        try {
+            log.info("Searching stock data for symbols: {}", symbols);
+
+            String sparkUrl = UriComponentsBuilder
+                    .fromPath("/v7/finance/spark")
+                    .queryParam("symbols", String.join(",", symbols))
+                    .queryParam("interval", "1d")
+                    .queryParam("range", "1d")
+                    .toUriString();
+
+            ResponseEntity<String> sparkResponse =
+                    yahooClient.get(sparkUrl, entity);
+
+            JsonNode results = objectMapper.readTree(sparkResponse.getBody())
+                    .path("spark")
+                    .path("result");
+
+            Map<String, StockDTO> quotes = new HashMap<>();
+            for (JsonNode result : results) {
+                String symbol = result.path("symbol").asText();
+                JsonNode metaNode = result.path("response").path(0).path("meta");
+                quotes.put(symbol.toUpperCase(), toStockDTO(symbol, metaNode));
+            }
+            return quotes;
+
+        } catch (Exception e) {
+            log.error("Error while fetching stock data for symbols: {}", symbols, e);
+            return Map.of();
+        }
+    }
+
+    private StockDTO fetchPrice(String symbolQuery) {
         HttpHeaders headers = new HttpHeaders();
         headers.set("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64)");
         headers.set("Accept", "application/json");
@@ -29,13 +139,13 @@ public class StockServiceImpl implements StockService {
             log.info("Searching stock data for symbol: {}", symbolQuery);
 
             String chartUrl = UriComponentsBuilder
-                    .fromHttpUrl("https://query2.finance.yahoo.com/v8/finance/chart/" + symbolQuery)
+                    .fromPath("/v8/finance/chart/" + symbolQuery)
                     .queryParam("interval", "1d")
                     .queryParam("range", "1d")
                     .toUriString();
 
             ResponseEntity<String> chartResponse =
-                    restTemplate.exchange(chartUrl, HttpMethod.GET, entity, String.class);
+                    yahooClient.get(chartUrl, entity);
 
             JsonNode chartRoot = objectMapper.readTree(chartResponse.getBody());
             JsonNode metaNode = chartRoot
@@ -44,19 +154,11 @@ public class StockServiceImpl implements StockService {
                     .path(0)
                     .path("meta");
 
-            String name = metaNode.path("shortName").asText(null);
-            Double price = metaNode.path("regularMarketPrice").isNumber()
-                    ? metaNode.path("regularMarketPrice").asDouble()
-                    : null;
+            StockDTO stock = toStockDTO(symbolQuery, metaNode);
 
-            log.info("Stock result → symbol={}, name={}, price={}", symbolQuery, name, price);
+            log.info("Stock result → symbol={}, name={}, price={}", symbolQuery, stock.name(), stock.price());
 
-            return new StockDTO(
-                    symbolQuery,
-                    name,
-                    metaNode.path("exchangeName").asText(null),
-                    price
-            );
+            return stock;
 
         } catch (Exception e) {
             log.error("Error while fetching stock data for symbol: {}", symbolQuery, e);
@@ -76,14 +178,14 @@ public class StockServiceImpl implements StockService {
             log.info("Searching stock info for symbol: {}", symbolQuery);
 
             String searchUrl = UriComponentsBuilder
-                    .fromHttpUrl("https://query2.finance.yahoo.com/v1/finance/search")
+                    .fromPath("/v1/finance/search")
                     .queryParam("q", symbolQuery)
                     .queryParam("quotesCount", 1)
                     .queryParam("newsCount", 0)
                     .toUriString();
 
             ResponseEntity<String> response =
-                    restTemplate.exchange(searchUrl, HttpMethod.GET, entity, String.class);
+                    yahooClient.get(searchUrl, entity);
 
             JsonNode root = objectMapper.readTree(response.getBody());
             JsonNode quoteNode = root
@@ -111,11 +213,11 @@ public class StockServiceImpl implements StockService {
 
         try {
             String searchUrl = UriComponentsBuilder
-                    .fromHttpUrl("http://python:8000/summary/" + stockSymbol)
+                    .fromPath("/summary/" + stockSymbol)
                     .toUriString();
 
             ResponseEntity<String> response =
-                    restTemplate.exchange(searchUrl, HttpMethod.GET, entity, String.class);
+                    pythonRestTemplate.exchange(searchUrl, HttpMethod.GET, entity, String.class);
 
             return response.getBody();
 
@@ -124,4 +226,67 @@ public class StockServiceImpl implements StockService {
             return null;
         }
     }
+
+    @Override
+    public List<StockDTO> searchSymbols(String query) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64)");
+        headers.set("Accept", "application/json");
+        headers.set("Accept-Language", "en-US,en;q=0.9");
+
+        HttpEntity<Void> entity = new HttpEntity<>(headers);
+
+        try {
+            String searchUrl = UriComponentsBuilder
+                    .fromPath("/v1/finance/search")
+                    .queryParam("q", query)
+                    .queryParam("quotesCount", 10)
+                    .queryParam("newsCount", 0)
+                    .toUriString();
+
+            ResponseEntity<String> response =
+                    yahooClient.get(searchUrl, entity);
+
+            JsonNode root = objectMapper.readTree(response.getBody());
+            JsonNode quotes = root.path("quotes");
+
+            List<StockDTO> results = new ArrayList<>();
+
+            for (JsonNode quote : quotes) {
+
+                // Sécurité : ignorer si pas une action
+                if (!"EQUITY".equals(quote.path("quoteType").asText())) {
+                    continue;
+                }
+
+                results.add(new StockDTO(
+                        quote.path("symbol").asText(),
+                        quote.path("shortname").asText(null),
+                        quote.path("exchDisp").asText(null),
+                        quote.path("regularMarketPrice").isNumber()
+                                ? quote.path("regularMarketPrice").asDouble()
+                                : null
+                ));
+            }
+
+            return results;
+
+        } catch (Exception e) {
+            log.error("Error while searching Yahoo symbols for query: {}", query, e);
+            return List.of();
+        }
+    }
+
+    private StockDTO toStockDTO(String symbol, JsonNode metaNode) {
+        Double price = metaNode.path("regularMarketPrice").isNumber()
+                ? metaNode.path("regularMarketPrice").asDouble()
+                : null;
+
+        return new StockDTO(
+                symbol,
+                metaNode.path("shortName").asText(null),
+                metaNode.path("exchangeName").asText(null),
+                price
+        );
+    }
 }
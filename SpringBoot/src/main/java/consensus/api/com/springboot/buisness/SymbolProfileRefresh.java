@@ -0,0 +1,75 @@
+package consensus.api.com.springboot.buisness;
+
+import consensus.api.com.springboot.data.Asset;
+import consensus.api.com.springboot.data.Portfolio;
+import consensus.api.com.springboot.data.SymbolProfile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SymbolProfileRefresh {
+
+    private final MongoTemplate mongoTemplate;
+    private final SymbolProfileService symbolProfileService;
+
+    @Scheduled(
+            initialDelayString = "${symbol-profiles.refresh.initial-delay-ms:30000}",
+            fixedDelayString = "${symbol-profiles.refresh.interval-ms:3600000}"
+    )
+    public void refresh() {
+        int migrated = migrateInlineProfiles();
+        int refreshed = symbolProfileService.refreshStale();
+
+        if (migrated > 0 || refreshed > 0) {
+            log.info("Moved inline profiles out of {} portfolios, refreshed {} symbol profiles", migrated, refreshed);
+        }
+    }
+
+    // Assets added before the catalog carry their own copy of the profile; move it over and drop the copy
+    private int migrateInlineProfiles() {
+        Query legacy = Query.query(Criteria.where("assets").elemMatch(Criteria.where("name").exists(true)));
+
+        int migrated = 0;
+        for (Portfolio portfolio : mongoTemplate.find(legacy, Portfolio.class)) {
+            try {
+                for (Asset asset : portfolio.getAssets()) {
+                    if (asset.getName() == null) {
+                        continue;
+                    }
+                    symbolProfileService.saveIfAbsent(SymbolProfile.builder()
+                            .symbol(SymbolProfile.idFor(asset.getSymbol()))
+                            .name(asset.getName())
+                            .fullExchangeName(asset.getFullExchangeName())
+                            .keywords(asset.getKeywords())
+                            .description(asset.getDescription())
+                            .embedding(asset.getEmbedding())
+                            .refreshedAt(Instant.now())
+                            .build());
+                }
+
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(portfolio.getId())),
+                        new Update()
+                                .unset("assets.$[].name")
+                                .unset("assets.$[].fullExchangeName")
+                                .unset("assets.$[].keywords")
+                                .unset("assets.$[].description")
+                                .unset("assets.$[].embedding"),
+                        Portfolio.class);
+                migrated++;
+            } catch (Exception e) {
+                log.warn("Failed to migrate inline asset profiles for portfolio {}", portfolio.getId(), e);
+            }
+        }
+        return migrated;
+    }
+}
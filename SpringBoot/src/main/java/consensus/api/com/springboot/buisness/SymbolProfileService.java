@@ -0,0 +1,20 @@
+package consensus.api.com.springboot.buisness;
+
+import consensus.api.com.springboot.data.SymbolProfile;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface SymbolProfileService {
+    // Cached or stored profile, enriched from upstream only the first time a symbol is seen; null if unknown
+    SymbolProfile getOrCreate(String symbol);
+
+    // Profiles already in the catalog keyed by upper-cased symbol, never calls upstream
+    Map<String, SymbolProfile> findAll(Collection<String> symbols);
+
+    // Stores a profile built outside the catalog unless one already exists
+    void saveIfAbsent(SymbolProfile profile);
+
+    // Re-enriches a batch of profiles older than the refresh age or missing an embedding
+    int refreshStale();
+}
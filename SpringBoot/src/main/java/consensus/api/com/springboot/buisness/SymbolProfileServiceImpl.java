@@ -0,0 +1,224 @@
+package consensus.api.com.springboot.buisness;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import consensus.api.com.springboot.buisness.DTO.StockDTO;
+import consensus.api.com.springboot.buisness.DTO.StockInfoDTO;
+import consensus.api.com.springboot.buisness.embedding.EmbeddingCodec;
+import consensus.api.com.springboot.data.SymbolProfile;
+import consensus.api.com.springboot.data.SymbolProfileRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Catalog of per-symbol enrichment (name, exchange, keywords, description, embedding) shared by every
+ * portfolio. An async Caffeine cache sits in front of the {@code symbol_profiles} collection so concurrent
+ * first adds of a symbol share one enrichment, and the loader never runs inside a map bin lock. Enrichment
+ * runs on its own bounded executor and callers wait for it under a deadline.
+ */
+@Slf4j
+@Service
+public class SymbolProfileServiceImpl implements SymbolProfileService {
+
+    private final SymbolProfileRepo symbolProfileRepo;
+    private final StockService stockService;
+    private final GeminiService geminiService;
+    private final AsyncCache<String, SymbolProfile> profiles;
+    private final Duration maxAge;
+    private final int refreshBatchSize;
+    private final long loadTimeoutMs;
+
+    public SymbolProfileServiceImpl(
+            SymbolProfileRepo symbolProfileRepo,
+            StockService stockService,
+            GeminiService geminiService,
+            @Qualifier("symbolProfileExecutor") ExecutorService loadExecutor,
+            @Value("${symbol-profiles.cache.maximum-size:10000}") long maximumSize,
+            @Value("${symbol-profiles.refresh.max-age-ms:604800000}") long maxAgeMs,
+            @Value("${symbol-profiles.refresh.batch-size:200}") int refreshBatchSize,
+            @Value("${symbol-profiles.load.timeout-ms:10000}") long loadTimeoutMs
+    ) {
+        this.symbolProfileRepo = symbolProfileRepo;
+        this.stockService = stockService;
+        this.geminiService = geminiService;
+        this.maxAge = Duration.ofMillis(maxAgeMs);
+        this.refreshBatchSize = refreshBatchSize;
+        this.loadTimeoutMs = loadTimeoutMs;
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .executor(loadExecutor)
+                .buildAsync();
+    }
+
+    @Override
+    public SymbolProfile getOrCreate(String symbol) {
+        String id = SymbolProfile.idFor(symbol);
+        try {
+            return profiles.get(id, (key, executor) -> CompletableFuture.supplyAsync(() -> load(key), executor))
+                    .get(loadTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // The load keeps running and fills the cache for the next caller
+            log.warn("Timed out after {} ms loading profile for {}", loadTimeoutMs, id);
+            return null;
+        } catch (ExecutionException | RejectedExecutionException e) {
+            log.warn("Failed to load profile for {}", id, e instanceof ExecutionException ? e.getCause() : e);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Override
+    public Map<String, SymbolProfile> findAll(Collection<String> symbols) {
+        Set<String> ids = symbols.stream().map(SymbolProfile::idFor).collect(Collectors.toSet());
+        Map<String, SymbolProfile> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+
+        // Only loaded profiles are taken from the cache; waiting on an enrichment in flight would hold up reads
+        for (String id : ids) {
+            CompletableFuture<SymbolProfile> cached = profiles.getIfPresent(id);
+            if (cached != null && cached.isDone() && !cached.isCompletedExceptionally() && cached.join() != null) {
+                found.put(id, cached.join());
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        // Misses are read from Mongo in one query on the calling thread; symbols without a stored profile are absent
+        try {
+            for (SymbolProfile profile : symbolProfileRepo.findAllById(missing)) {
+                found.put(profile.getSymbol(), profile);
+                profiles.asMap().putIfAbsent(profile.getSymbol(), CompletableFuture.completedFuture(profile));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to read symbol profiles", e);
+        }
+        return found;
+    }
+
+    @Override
+    public void saveIfAbsent(SymbolProfile profile) {
+        if (!symbolProfileRepo.existsById(profile.getSymbol())) {
+            symbolProfileRepo.save(profile);
+        }
+    }
+
+    @Override
+    public int refreshStale() {
+        // Least recently attempted first, so symbols that keep failing cannot hold the head of every batch
+        List<SymbolProfile> stale = symbolProfileRepo.findByRefreshedAtBeforeOrEmbeddingIsNull(
+                Instant.now().minus(maxAge), PageRequest.of(0, refreshBatchSize, Sort.by("refreshAttemptedAt")));
+
+        int refreshed = 0;
+        for (SymbolProfile previous : stale) {
+            try {
+                SymbolProfile profile = enrich(previous.getSymbol(), previous);
+                if (profile != previous) {
+                    symbolProfileRepo.save(profile);
+                    profiles.synchronous().put(profile.getSymbol(), profile);
+                    refreshed++;
+                    continue;
+                }
+                log.debug("Could not price {}, retrying it after the rest of the backlog", previous.getSymbol());
+            } catch (Exception e) {
+                log.warn("Failed to refresh profile for {}", previous.getSymbol(), e);
+            }
+            markRefreshAttempted(previous.getSymbol());
+        }
+        return refreshed;
+    }
+
+    // Keeps refreshedAt as is, so the profile stays due, but moves it to the back of the next batches
+    private void markRefreshAttempted(String id) {
+        try {
+            symbolProfileRepo.markRefreshAttempted(id, Instant.now());
+        } catch (DataAccessException e) {
+            log.warn("Failed to record refresh attempt for {}", id, e);
+        }
+    }
+
+    private SymbolProfile load(String id) {
+        SymbolProfile stored = symbolProfileRepo.findById(id).orElse(null);
+        if (stored != null) {
+            return stored;
+        }
+
+        SymbolProfile profile = enrich(id, null);
+        if (profile != null) {
+            try {
+                symbolProfileRepo.save(profile);
+            } catch (DataAccessException e) {
+                // Still usable for this request; the next miss enriches again
+                log.warn("Failed to store profile for {}", id, e);
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * Builds a fresh profile from upstream, keeping fields of {@code previous} that could not be fetched.
+     * Returns {@code previous} unchanged if the symbol could not be priced.
+     */
+    private SymbolProfile enrich(String id, SymbolProfile previous) {
+        StockDTO stock = stockService.searchAndGetPrice(id);
+        if (stock == null) {
+            return previous;
+        }
+
+        StockInfoDTO info = stockService.searchAndGetInfo(id);
+        String description = stockService.getStockSummary(id);
+
+        Instant now = Instant.now();
+        SymbolProfile profile = SymbolProfile.builder()
+                .symbol(id)
+                .name(stock.name())
+                .fullExchangeName(stock.fullExchangeName())
+                .keywords(info != null ? new String[]{info.industry(), info.sector()}
+                        : previous != null ? previous.getKeywords() : null)
+                .description(description != null ? description
+                        : previous != null ? previous.getDescription() : null)
+                .refreshedAt(now)
+                .refreshAttemptedAt(now)
+                .build();
+
+        // Only re-embed when the text changed; the refresh job retries profiles left without one
+        if (previous != null && previous.getEmbedding() != null
+                && Objects.equals(previous.embeddingText(), profile.embeddingText())) {
+            profile.setEmbedding(previous.getEmbedding());
+        } else {
+            try {
+                profile.setEmbedding(EmbeddingCodec.encode(geminiService.embed(List.of(profile.embeddingText())).row(0)));
+            } catch (Exception e) {
+                log.warn("Failed to embed profile for {}, leaving it for the refresh job", id, e);
+            }
+        }
+        return profile;
+    }
+}
@@ -0,0 +1,10 @@
+package consensus.api.com.springboot.buisness;
+
+import consensus.api.com.springboot.buisness.DTO.StockDTO;
+
+import java.util.List;
+
+public interface SymbolSearchService {
+    // Autocomplete from the local index, merged with Yahoo search unless the index has an exact match and a full page
+    List<StockDTO> searchSymbols(String query);
+}
@@ -0,0 +1,213 @@
+package consensus.api.com.springboot.buisness;
+
+import consensus.api.com.springboot.buisness.DTO.StockDTO;
+import consensus.api.com.springboot.buisness.quote.QuoteCache;
+import consensus.api.com.springboot.buisness.search.SymbolIndex;
+import consensus.api.com.springboot.data.SymbolListing;
+import consensus.api.com.springboot.data.SymbolListingRepo;
+import consensus.api.com.springboot.data.SymbolProfile;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves symbol autocomplete from an in-memory {@link SymbolIndex} built from a bundled listing file,
+ * symbols users have added and past Yahoo search results. A query is answered from the index alone when
+ * it names a known ticker or fills a page; only short or ambiguous prefixes have Yahoo's results merged in
+ * after the local ones, the merged answer is cached, and the new symbols are folded into the next rebuild.
+ */
+@Slf4j
+@Service
+public class SymbolSearchServiceImpl implements SymbolSearchService {
+
+    private static final int MAX_RESULTS = 10;
+
+    private final StockService stockService;
+    private final QuoteCache quoteCache;
+    private final SymbolListingRepo symbolListingRepo;
+    private final MongoTemplate mongoTemplate;
+    private final Resource listing;
+
+    // Yahoo results seen since the last rebuild, keyed by upper-cased symbol
+    private final Map<String, SymbolIndex.Entry> learned = new ConcurrentHashMap<>();
+    private volatile SymbolIndex index = SymbolIndex.empty();
+
+    // Merged answers keyed by upper-cased query, so a short local page costs one Yahoo search per TTL
+    private final Cache<String, List<StockDTO>> mergedAnswers;
+
+    private final Counter indexAnswers;
+    private final Counter cachedAnswers;
+    private final Counter upstreamAnswers;
+
+    public SymbolSearchServiceImpl(
+            StockService stockService,
+            QuoteCache quoteCache,
+            SymbolListingRepo symbolListingRepo,
+            MongoTemplate mongoTemplate,
+            @Value("${symbols.listing.location:classpath:symbols/listing.txt}") Resource listing,
+            @Value("${symbols.search.cache.ttl-ms:600000}") long cacheTtlMs,
+            @Value("${symbols.search.cache.maximum-size:10000}") long cacheMaximumSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.stockService = stockService;
+        this.quoteCache = quoteCache;
+        this.symbolListingRepo = symbolListingRepo;
+        this.mongoTemplate = mongoTemplate;
+        this.listing = listing;
+        this.mergedAnswers = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .build();
+
+        this.indexAnswers = Counter.builder("symbols.search")
+                .tag("source", "index")
+                .register(meterRegistry);
+        this.cachedAnswers = Counter.builder("symbols.search")
+                .tag("source", "cache")
+                .register(meterRegistry);
+        this.upstreamAnswers = Counter.builder("symbols.search")
+                .tag("source", "yahoo")
+                .register(meterRegistry);
+        Gauge.builder("symbols.index.size", this, service -> service.index.size())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<StockDTO> searchSymbols(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+
+        String key = SymbolProfile.idFor(query);
+        List<SymbolIndex.Entry> local = index.search(query, MAX_RESULTS);
+        boolean exactMatch = local.stream().anyMatch(entry -> SymbolProfile.idFor(entry.symbol()).equals(key));
+        if (exactMatch || local.size() >= MAX_RESULTS) {
+            indexAnswers.increment();
+            return local.stream().map(this::toStockDTO).toList();
+        }
+
+        List<StockDTO> cached = mergedAnswers.getIfPresent(key);
+        if (cached != null) {
+            cachedAnswers.increment();
+            return cached;
+        }
+
+        // A prefix can match a name in the listing while the ticker itself is missing ("APP" finds Apple, not AppLovin)
+        upstreamAnswers.increment();
+        List<StockDTO> upstream = stockService.searchSymbols(query);
+
+        Map<String, StockDTO> merged = new LinkedHashMap<>();
+        local.forEach(entry -> merged.put(SymbolProfile.idFor(entry.symbol()), toStockDTO(entry)));
+        for (StockDTO result : upstream) {
+            String symbol = SymbolProfile.idFor(result.symbol());
+            learned.putIfAbsent(symbol, new SymbolIndex.Entry(result.symbol(), result.name(), result.fullExchangeName()));
+            if (merged.size() < MAX_RESULTS) {
+                merged.putIfAbsent(symbol, result);
+            }
+        }
+
+        List<StockDTO> results = List.copyOf(merged.values());
+        // An empty Yahoo answer may be a failed search, so it is retried next time rather than cached
+        if (!upstream.isEmpty()) {
+            mergedAnswers.put(key, results);
+        }
+        return results;
+    }
+
+    @Scheduled(
+            initialDelayString = "${symbols.index.initial-delay-ms:0}",
+            fixedDelayString = "${symbols.index.rebuild-interval-ms:600000}"
+    )
+    public void rebuild() {
+        persistLearned();
+
+        // Listing entries go first so their names win over search results for the same symbol
+        List<SymbolIndex.Entry> entries = new ArrayList<>(readListing());
+        entries.addAll(readStored());
+        entries.addAll(learned.values());
+
+        index = SymbolIndex.build(entries);
+        log.info("Rebuilt symbol index with {} symbols", index.size());
+    }
+
+    private StockDTO toStockDTO(SymbolIndex.Entry entry) {
+        // Price only if a quote is already cached; autocomplete never fetches one
+        StockDTO quote = quoteCache.peek(entry.symbol());
+        return new StockDTO(entry.symbol(), entry.name(), entry.exchange(), quote == null ? null : quote.price());
+    }
+
+    private void persistLearned() {
+        Map<String, SymbolIndex.Entry> pending = Map.copyOf(learned);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            symbolListingRepo.saveAll(pending.entrySet().stream()
+                    .map(e -> new SymbolListing(e.getKey(), e.getValue().name(), e.getValue().exchange()))
+                    .toList());
+            pending.forEach(learned::remove);
+        } catch (DataAccessException e) {
+            // Kept in memory and indexed anyway; the next rebuild tries to store them again
+            log.warn("Failed to store {} searched symbols", pending.size(), e);
+        }
+    }
+
+    private List<SymbolIndex.Entry> readListing() {
+        List<SymbolIndex.Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(listing.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Symbol|Security Name|Exchange, with a header row
+                String[] fields = line.split("\\|", 3);
+                if (fields.length == 3 && !fields[0].equals("Symbol")) {
+                    entries.add(new SymbolIndex.Entry(fields[0].trim(), fields[1].trim(), fields[2].trim()));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read symbol listing {}", listing, e);
+        }
+        return entries;
+    }
+
+    private List<SymbolIndex.Entry> readStored() {
+        List<SymbolIndex.Entry> entries = new ArrayList<>();
+        try {
+            for (SymbolListing stored : symbolListingRepo.findAll()) {
+                entries.add(new SymbolIndex.Entry(stored.getSymbol(), stored.getName(), stored.getExchange()));
+            }
+
+            // Symbols users hold; the projection skips descriptions and embeddings
+            Query names = new Query();
+            names.fields().include("name", "fullExchangeName");
+            for (SymbolProfile profile : mongoTemplate.find(names, SymbolProfile.class)) {
+                entries.add(new SymbolIndex.Entry(profile.getSymbol(), profile.getName(), profile.getFullExchangeName()));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to read stored symbols, indexing the listing only", e);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,255 @@
+package consensus.api.com.springboot.buisness.analysis;
+
+import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * One user's analysis run. Matches are recorded as they are found and pushed to every subscribed
+ * listener; a listener that subscribes late is first replayed everything recorded so far. Events are
+ * queued per listener under the job lock and delivered outside it on {@code sender}, so a slow client
+ * holds up neither the analysis thread nor other listeners. When {@code sender} rejects a delivery the
+ * listener is dropped and told so through {@link Listener#onDropped()}.
+ */
+public class AnalysisJob {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public interface Listener {
+        void onMatch(PolyMarketInfoDTO match);
+
+        void onSummary(List<PolyMarketInfoDTO> summary);
+
+        void onFailure(String message);
+
+        // No further events will be delivered, because the senders are saturated
+        void onDropped();
+    }
+
+    @Getter
+    private final String id;
+
+    @Getter
+    private final String userId;
+
+    private final Executor sender;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<PolyMarketInfoDTO> matches = new ArrayList<>();
+    private final List<Subscription> subscriptions = new ArrayList<>();
+
+    @Getter
+    private volatile Status status = Status.RUNNING;
+
+    @Getter
+    private volatile Instant finishedAt;
+
+    // Completed with a previous result because the fresh analysis failed or market data is out of date
+    @Getter
+    private volatile boolean stale;
+
+    private List<PolyMarketInfoDTO> summary;
+    private String failure;
+
+    public AnalysisJob(String id, String userId, Executor sender) {
+        this.id = id;
+        this.userId = userId;
+        this.sender = sender;
+    }
+
+    public void subscribe(Listener listener) {
+        Subscription subscription = new Subscription(listener);
+        boolean accepted = true;
+
+        lock.lock();
+        try {
+            for (PolyMarketInfoDTO match : matches) {
+                accepted = accepted && subscription.enqueue(l -> l.onMatch(match));
+            }
+
+            if (accepted) {
+                accepted = switch (status) {
+                    case RUNNING -> subscriptions.add(subscription);
+                    case COMPLETED -> subscription.enqueue(l -> l.onSummary(summary));
+                    case FAILED -> subscription.enqueue(l -> l.onFailure(failure));
+                };
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!accepted) {
+            subscription.dropped();
+        }
+    }
+
+    public void unsubscribe(Listener listener) {
+        lock.lock();
+        try {
+            subscriptions.removeIf(subscription -> {
+                if (subscription.listener != listener) {
+                    return false;
+                }
+                subscription.close();
+                return true;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void match(PolyMarketInfoDTO match) {
+        List<Subscription> dropped;
+        lock.lock();
+        try {
+            matches.add(match);
+            dropped = enqueueAll(l -> l.onMatch(match));
+        } finally {
+            lock.unlock();
+        }
+        dropped.forEach(Subscription::dropped);
+    }
+
+    public void complete(List<PolyMarketInfoDTO> summary, boolean stale) {
+        List<Subscription> dropped;
+        lock.lock();
+        try {
+            this.summary = List.copyOf(summary);
+            this.stale = stale;
+            finish(Status.COMPLETED);
+            dropped = enqueueAll(l -> l.onSummary(this.summary));
+            subscriptions.clear();
+        } finally {
+            lock.unlock();
+        }
+        dropped.forEach(Subscription::dropped);
+    }
+
+    public void fail(String message) {
+        List<Subscription> dropped;
+        lock.lock();
+        try {
+            this.failure = message;
+            finish(Status.FAILED);
+            dropped = enqueueAll(l -> l.onFailure(message));
+            subscriptions.clear();
+        } finally {
+            lock.unlock();
+        }
+        dropped.forEach(Subscription::dropped);
+    }
+
+    private void finish(Status status) {
+        this.finishedAt = Instant.now();
+        this.status = status;
+    }
+
+    // Called with the lock held; returns the subscriptions the sender rejected, already removed.
+    // Iterates a copy because a sender that runs a drain inline may remove a failed subscription.
+    private List<Subscription> enqueueAll(Consumer<Listener> event) {
+        List<Subscription> dropped = new ArrayList<>();
+        for (Subscription subscription : List.copyOf(subscriptions)) {
+            if (!subscription.enqueue(event)) {
+                subscriptions.remove(subscription);
+                dropped.add(subscription);
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Events waiting for one listener, drained in order by at most one sender task at a time.
+     * Its state is guarded by the job lock, which is never held while a listener runs.
+     */
+    private final class Subscription implements Runnable {
+
+        private final Listener listener;
+        private final Queue<Consumer<Listener>> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscription(Listener listener) {
+            this.listener = listener;
+        }
+
+        // False once the sender has rejected this subscription; the caller removes and drops it
+        boolean enqueue(Consumer<Listener> event) {
+            if (closed) {
+                return true;
+            }
+            pending.add(event);
+            if (!draining) {
+                draining = true;
+                try {
+                    sender.execute(this);
+                } catch (RejectedExecutionException e) {
+                    close();
+                    draining = false;
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Called without the lock, like any other delivery
+        void dropped() {
+            deliver(Listener::onDropped);
+        }
+
+        void close() {
+            closed = true;
+            pending.clear();
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Consumer<Listener> event;
+                lock.lock();
+                try {
+                    event = pending.poll();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                if (!deliver(event)) {
+                    lock.lock();
+                    try {
+                        close();
+                        draining = false;
+                        subscriptions.remove(this);
+                    } finally {
+                        lock.unlock();
+                    }
+                    return;
+                }
+            }
+        }
+
+        // A listener whose connection has gone away is dropped rather than failing the job
+        private boolean deliver(Consumer<Listener> event) {
+            try {
+                event.accept(listener);
+                return true;
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+    }
+}
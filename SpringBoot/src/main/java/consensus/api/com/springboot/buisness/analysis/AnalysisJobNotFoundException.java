@@ -0,0 +1,8 @@
+package consensus.api.com.springboot.buisness.analysis;
+
+public class AnalysisJobNotFoundException extends RuntimeException {
+
+    public AnalysisJobNotFoundException(String jobId) {
+        super("Analysis job not found: " + jobId);
+    }
+}
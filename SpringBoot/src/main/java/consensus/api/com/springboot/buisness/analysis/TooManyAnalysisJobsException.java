@@ -0,0 +1,8 @@
+package consensus.api.com.springboot.buisness.analysis;
+
+public class TooManyAnalysisJobsException extends RuntimeException {
+
+    public TooManyAnalysisJobsException(String userId, int limit) {
+        super("User " + userId + " already has " + limit + " analysis jobs running");
+    }
+}
@@ -0,0 +1,5 @@
+package consensus.api.com.springboot.buisness.embedding;
+
+public interface DotKernel {
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+}
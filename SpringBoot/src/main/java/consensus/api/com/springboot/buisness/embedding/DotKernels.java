@@ -0,0 +1,42 @@
+package consensus.api.com.springboot.buisness.embedding;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks the dot-product kernel once per JVM: the Vector API kernel when {@code jdk.incubator.vector}
+ * is available (start the JVM with {@code --add-modules jdk.incubator.vector}) and not disabled with
+ * {@code -Dembedding.simd=false}, the scalar kernel otherwise.
+ */
+@Slf4j
+public final class DotKernels {
+
+    private static final DotKernel KERNEL = select();
+
+    private DotKernels() {
+    }
+
+    public static DotKernel get() {
+        return KERNEL;
+    }
+
+    private static DotKernel select() {
+        boolean simdRequested = Boolean.parseBoolean(System.getProperty("embedding.simd", "true"));
+        boolean simdAvailable = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+        if (simdRequested && simdAvailable) {
+            try {
+                DotKernel kernel = (DotKernel) Class
+                        .forName("consensus.api.com.springboot.buisness.embedding.VectorDotKernel")
+                        .getDeclaredConstructor()
+                        .newInstance();
+                log.info("Using Vector API dot-product kernel");
+                return kernel;
+            } catch (ReflectiveOperationException | LinkageError e) {
+                log.warn("Vector API kernel unavailable, falling back to scalar", e);
+            }
+        }
+
+        log.info("Using scalar dot-product kernel");
+        return new ScalarDotKernel();
+    }
+}
@@ -0,0 +1,85 @@
+package consensus.api.com.springboot.buisness.embedding;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dense, row-major matrix of embeddings backed by a single {@code float[]}.
+ * Rows are L2-normalized on creation, so the cosine similarity of two rows is their dot product.
+ */
+public final class EmbeddingMatrix {
+
+    private static final EmbeddingMatrix EMPTY = new EmbeddingMatrix(new float[0], 0, 0);
+
+    private final float[] data;
+    private final int rows;
+    private final int dimension;
+
+    private EmbeddingMatrix(float[] data, int rows, int dimension) {
+        this.data = data;
+        this.rows = rows;
+        this.dimension = dimension;
+    }
+
+    public static EmbeddingMatrix empty() {
+        return EMPTY;
+    }
+
+    public static EmbeddingMatrix of(List<float[]> vectors) {
+        if (vectors.isEmpty()) {
+            return EMPTY;
+        }
+
+        int dimension = vectors.get(0).length;
+        float[] data = new float[vectors.size() * dimension];
+
+        for (int r = 0; r < vectors.size(); r++) {
+            float[] vector = vectors.get(r);
+            if (vector.length != dimension) {
+                throw new IllegalArgumentException("Different vector sizes");
+            }
+            System.arraycopy(vector, 0, data, r * dimension, dimension);
+            normalize(data, r * dimension, dimension);
+        }
+
+        return new EmbeddingMatrix(data, vectors.size(), dimension);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public float[] row(int row) {
+        return Arrays.copyOfRange(data, row * dimension, (row + 1) * dimension);
+    }
+
+    /**
+     * Cosine similarity between {@code row} of this matrix and {@code otherRow} of {@code other}.
+     */
+    public float dot(int row, EmbeddingMatrix other, int otherRow) {
+        if (dimension != other.dimension) {
+            throw new IllegalArgumentException("Different vector sizes");
+        }
+        return DotKernels.get().dot(data, row * dimension, other.data, otherRow * other.dimension, dimension);
+    }
+
+    private static void normalize(float[] data, int offset, int length) {
+        double sumOfSquares = 0.0;
+        for (int i = offset; i < offset + length; i++) {
+            sumOfSquares += (double) data[i] * data[i];
+        }
+
+        if (sumOfSquares == 0.0) {
+            return;
+        }
+
+        float scale = (float) (1.0 / Math.sqrt(sumOfSquares));
+        for (int i = offset; i < offset + length; i++) {
+            data[i] *= scale;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package consensus.api.com.springboot.buisness.embedding;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only, content-addressed store of embedding vectors kept in a memory-mapped file.
+ * Records are addressed by SHA-256(model, taskType, text) and hold the vector as packed floats;
+ * the in-memory index of record offsets is rebuilt by scanning the file on startup, and the file is
+ * rewritten without superseded records when they take up more than {@code COMPACT_DEAD_RATIO} of it.
+ */
+@Slf4j
+@Component
+public class EmbeddingStore {
+
+    private static final int MAGIC = 0x454D4231; // "EMB1"
+    private static final int HEADER_BYTES = 16;   // magic(int) + reserved(int) + end offset(long)
+    private static final int KEY_BYTES = 32;
+    private static final long INITIAL_CAPACITY = 16L * 1024 * 1024;
+    private static final long MAX_CAPACITY = Integer.MAX_VALUE;
+    private static final double COMPACT_DEAD_RATIO = 0.25;
+
+    private final Map<String, Long> index = new ConcurrentHashMap<>();
+
+    // Not synchronized: appends can remap the file, which would pin a virtual thread inside a monitor
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @Value("${gemini.embedding.store.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gemini.embedding.store.path}")
+    private Path path;
+
+    private FileChannel channel;
+    private volatile MappedByteBuffer buffer;
+    private long end;
+
+    @PostConstruct
+    void open() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            boolean fresh = channel.size() < HEADER_BYTES;
+            map(Math.max(channel.size(), INITIAL_CAPACITY));
+
+            if (fresh) {
+                buffer.putInt(0, MAGIC);
+                buffer.putLong(8, HEADER_BYTES);
+            } else if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an embedding store: " + path);
+            }
+
+            end = buffer.getLong(8);
+            long deadBytes = rebuildIndex();
+            if (deadBytes > (end - HEADER_BYTES) * COMPACT_DEAD_RATIO) {
+                compact(deadBytes);
+            }
+
+            log.info("Opened embedding store {} with {} vectors", path, index.size());
+        } catch (IOException e) {
+            log.warn("Embedding store {} unavailable, embeddings will not be persisted", path, e);
+            close();
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        writeLock.lock();
+        try {
+            if (buffer != null) {
+                buffer.force();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close embedding store {}", path, e);
+        } finally {
+            buffer = null;
+            channel = null;
+            index.clear();
+            writeLock.unlock();
+        }
+    }
+
+    public float[] get(String model, String taskType, String text) {
+        Long offset = index.get(key(model, taskType, text));
+        if (offset == null) {
+            return null;
+        }
+
+        // Read the buffer after the index so a record added by a remapping put is always in range
+        MappedByteBuffer current = buffer;
+        if (current == null) {
+            return null;
+        }
+
+        int dimension = current.getInt((int) (offset + KEY_BYTES));
+        int valuesAt = (int) (offset + KEY_BYTES + Integer.BYTES);
+
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = current.getFloat(valuesAt + i * Float.BYTES);
+        }
+        return vector;
+    }
+
+    public void put(String model, String taskType, String text, float[] vector) {
+        String key = key(model, taskType, text);
+
+        writeLock.lock();
+        try {
+            append(key, vector);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void append(String key, float[] vector) {
+        if (buffer == null || index.containsKey(key)) {
+            return;
+        }
+
+        long recordBytes = recordBytes(vector.length);
+        long required = end + recordBytes;
+
+        if (required > MAX_CAPACITY) {
+            // A full store would otherwise turn every later embedding into a Gemini call without a trace
+            throw new IllegalStateException("Embedding store " + path + " is full at " + end
+                    + " bytes; move it aside or point gemini.embedding.store.path at a new file");
+        }
+
+        try {
+            if (required > buffer.capacity()) {
+                map(Math.min(MAX_CAPACITY, Math.max(buffer.capacity() * 2L, required)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to grow embedding store " + path, e);
+        }
+
+        int at = (int) end;
+        buffer.put(at, HexFormat.of().parseHex(key));
+        buffer.putInt(at + KEY_BYTES, vector.length);
+
+        int valuesAt = at + KEY_BYTES + Integer.BYTES;
+        for (int i = 0; i < vector.length; i++) {
+            buffer.putFloat(valuesAt + i * Float.BYTES, vector[i]);
+        }
+
+        // Publish the new end only once the record is fully written
+        end += recordBytes;
+        buffer.putLong(8, end);
+        index.put(key, (long) at);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private void map(long capacity) throws IOException {
+        if (capacity > MAX_CAPACITY) {
+            throw new IOException("Embedding store exceeds the 2GB mapping limit");
+        }
+
+        buffer = map(channel, capacity);
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long capacity) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        return mapped;
+    }
+
+    // Returns the bytes held by records that a later record with the same key superseded
+    private long rebuildIndex() {
+        byte[] keyBytes = new byte[KEY_BYTES];
+        long at = HEADER_BYTES;
+        long deadBytes = 0;
+
+        while (at + KEY_BYTES + Integer.BYTES <= end) {
+            buffer.get((int) at, keyBytes);
+            int dimension = buffer.getInt((int) (at + KEY_BYTES));
+            long recordBytes = recordBytes(dimension);
+
+            if (dimension <= 0 || at + recordBytes > end) {
+                log.warn("Truncating corrupt embedding store {} at offset {}", path, at);
+                break;
+            }
+
+            Long superseded = index.put(HexFormat.of().formatHex(keyBytes), at);
+            if (superseded != null) {
+                deadBytes += recordBytes(buffer.getInt((int) (superseded + KEY_BYTES)));
+            }
+            at += recordBytes;
+        }
+
+        end = at;
+        buffer.putLong(8, end);
+        return deadBytes;
+    }
+
+    /**
+     * Copies the live records into a sibling file and swaps it in. The old file is only replaced once the
+     * copy is forced to disk, so a crash part-way leaves the original store intact.
+     */
+    private void compact(long deadBytes) throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        long liveEnd = end - deadBytes;
+
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = map(target, Math.max(liveEnd, INITIAL_CAPACITY));
+            out.putInt(0, MAGIC);
+
+            // Offsets in file order keep the copy a sequential read of the old mapping
+            long[] offsets = index.values().stream().mapToLong(Long::longValue).sorted().toArray();
+            int at = HEADER_BYTES;
+            for (long offset : offsets) {
+                int recordBytes = (int) recordBytes(buffer.getInt((int) (offset + KEY_BYTES)));
+                out.put(at, buffer, (int) offset, recordBytes);
+                at += recordBytes;
+            }
+
+            out.putLong(8, at);
+            out.force();
+        }
+
+        channel.close();
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Compacted embedding store {}, reclaimed {} bytes", path, deadBytes);
+
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        map(Math.max(channel.size(), INITIAL_CAPACITY));
+        end = buffer.getLong(8);
+        index.clear();
+        rebuildIndex();
+    }
+
+    private static long recordBytes(int dimension) {
+        return KEY_BYTES + Integer.BYTES + (long) dimension * Float.BYTES;
+    }
+
+    private static String key(String model, String taskType, String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(taskType.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
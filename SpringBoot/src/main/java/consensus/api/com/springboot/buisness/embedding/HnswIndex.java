@@ -0,0 +1,386 @@
+package consensus.api.com.springboot.buisness.embedding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process Hierarchical Navigable Small World graph over L2-normalized vectors, scored by dot product.
+ * Supports incremental insert and delete (deletes are tombstones, compacted once they outnumber live
+ * nodes) and falls back to an exact scan while the index holds at most {@code exactThreshold} vectors.
+ */
+public class HnswIndex {
+
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final int efSearch;
+    private final int exactThreshold;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> nodesById = new HashMap<>();
+    private List<Node> nodes = new ArrayList<>();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int deleted;
+
+    public HnswIndex(int m, int efConstruction, int efSearch, int exactThreshold) {
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.exactThreshold = exactThreshold;
+        this.levelMultiplier = 1.0 / Math.log(m);
+    }
+
+    public record Neighbor(String id, float similarity) {}
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String id) {
+        lock.readLock().lock();
+        try {
+            return nodesById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds {@code vector} under {@code id}, replacing any vector already indexed under that id.
+     * The vector must already be L2-normalized.
+     */
+    public void insert(String id, float[] vector) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            insertLocked(id, vector);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (deleted > nodesById.size() && deleted > exactThreshold) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Neighbor> search(float[] query, int k) {
+        return search(query, k, Float.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Up to {@code k} indexed vectors most similar to {@code query} with a similarity of at least
+     * {@code minSimilarity}, most similar first. Exact while the index is small, approximate otherwise;
+     * {@code efSearch} trades recall for latency.
+     */
+    public List<Neighbor> search(float[] query, int k, float minSimilarity) {
+        lock.readLock().lock();
+        try {
+            if (nodesById.isEmpty()) {
+                return List.of();
+            }
+
+            PriorityQueue<Candidate> found = nodesById.size() <= exactThreshold
+                    ? exactSearch(query, k)
+                    : approximateSearch(query, Math.max(efSearch, k));
+
+            List<Neighbor> neighbors = new ArrayList<>(found.size());
+            while (!found.isEmpty()) {
+                Candidate candidate = found.poll();
+                Node node = nodes.get(candidate.node);
+                if (!node.deleted && candidate.similarity >= minSimilarity) {
+                    neighbors.add(new Neighbor(node.id, candidate.similarity));
+                }
+            }
+
+            // The queue yields the weakest match first
+            neighbors.sort(Comparator.comparingDouble(Neighbor::similarity).reversed());
+            return neighbors.size() > k ? List.copyOf(neighbors.subList(0, k)) : neighbors;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PriorityQueue<Candidate> exactSearch(float[] query, int k) {
+        PriorityQueue<Candidate> best = new PriorityQueue<>(Candidate.WORST_FIRST);
+        for (int id : nodesById.values()) {
+            best.add(new Candidate(id, similarity(query, nodes.get(id).vector)));
+            if (best.size() > k) {
+                best.poll();
+            }
+        }
+        return best;
+    }
+
+    private PriorityQueue<Candidate> approximateSearch(float[] query, int ef) {
+        int current = entryPoint;
+        for (int level = maxLevel; level > 0; level--) {
+            current = greedyClosest(query, current, level);
+        }
+
+        PriorityQueue<Candidate> found = searchLayer(query, current, ef, 0);
+        while (found.size() > ef) {
+            found.poll();
+        }
+        return found;
+    }
+
+    private void insertLocked(String id, float[] vector) {
+        int level = (int) (-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+        int index = nodes.size();
+        Node node = new Node(id, vector.clone(), level);
+        nodes.add(node);
+        nodesById.put(id, index);
+
+        if (entryPoint < 0) {
+            entryPoint = index;
+            maxLevel = level;
+            return;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(vector, current, l);
+        }
+
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            PriorityQueue<Candidate> candidates = searchLayer(vector, current, efConstruction, l);
+            List<Candidate> selected = selectNeighbors(new ArrayList<>(candidates), m);
+
+            for (Candidate neighbor : selected) {
+                node.connect(l, neighbor.node);
+                connectAndPrune(neighbor.node, index, l);
+            }
+
+            current = selected.isEmpty() ? current : selected.get(0).node;
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = index;
+        }
+    }
+
+    private void removeLocked(String id) {
+        Integer index = nodesById.remove(id);
+        if (index != null) {
+            // Tombstoned nodes keep routing searches until the next compaction
+            nodes.get(index).deleted = true;
+            deleted++;
+        }
+    }
+
+    private void compact() {
+        List<Node> live = nodes.stream().filter(node -> !node.deleted).toList();
+
+        nodes = new ArrayList<>(live.size());
+        nodesById.clear();
+        entryPoint = -1;
+        maxLevel = -1;
+        deleted = 0;
+
+        for (Node node : live) {
+            insertLocked(node.id, node.vector);
+        }
+    }
+
+    private void connectAndPrune(int from, int to, int level) {
+        Node node = nodes.get(from);
+        node.connect(level, to);
+
+        int maxConnections = level == 0 ? maxM0 : m;
+        if (node.degree(level) <= maxConnections) {
+            return;
+        }
+
+        List<Candidate> links = new ArrayList<>(node.degree(level));
+        int[] neighbors = node.links[level];
+        for (int i = 0; i < node.degree(level); i++) {
+            links.add(new Candidate(neighbors[i], similarity(node.vector, nodes.get(neighbors[i]).vector)));
+        }
+
+        // Plain closest-first shrink: the diversity heuristic here costs O(M^2) similarities per insert
+        links.sort(Candidate.BEST_FIRST);
+        node.clear(level);
+        for (Candidate link : links.subList(0, maxConnections)) {
+            node.connect(level, link.node);
+        }
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float currentSimilarity = similarity(query, nodes.get(current).vector);
+
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            Node node = nodes.get(current);
+            int[] neighbors = node.links[level];
+            for (int i = 0; i < node.degree(level); i++) {
+                int neighbor = neighbors[i];
+                float s = similarity(query, nodes.get(neighbor).vector);
+                if (s > currentSimilarity) {
+                    currentSimilarity = s;
+                    current = neighbor;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Best-first beam search on one layer; returns up to {@code ef} results, weakest first.
+     */
+    private PriorityQueue<Candidate> searchLayer(float[] query, int start, int ef, int level) {
+        BitSet visited = new BitSet(nodes.size());
+        visited.set(start);
+
+        Candidate first = new Candidate(start, similarity(query, nodes.get(start).vector));
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(Candidate.BEST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(Candidate.WORST_FIRST);
+        frontier.add(first);
+        results.add(first);
+
+        while (!frontier.isEmpty()) {
+            Candidate closest = frontier.poll();
+            if (results.size() >= ef && closest.similarity < results.peek().similarity) {
+                break;
+            }
+
+            Node node = nodes.get(closest.node);
+            int[] neighbors = node.links[level];
+            for (int i = 0; i < node.degree(level); i++) {
+                int neighbor = neighbors[i];
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+
+                float s = similarity(query, nodes.get(neighbor).vector);
+                if (results.size() < ef || s > results.peek().similarity) {
+                    Candidate candidate = new Candidate(neighbor, s);
+                    frontier.add(candidate);
+                    results.add(candidate);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * HNSW neighbour-selection heuristic: prefer candidates closer to the base than to any neighbour
+     * already selected, so links spread across clusters; top up with the closest leftovers.
+     */
+    private List<Candidate> selectNeighbors(List<Candidate> candidates, int count) {
+        candidates.sort(Candidate.BEST_FIRST);
+        if (candidates.size() <= count) {
+            return candidates;
+        }
+
+        List<Candidate> selected = new ArrayList<>(count);
+        List<Candidate> skipped = new ArrayList<>();
+
+        for (Candidate candidate : candidates) {
+            if (selected.size() == count) {
+                break;
+            }
+
+            float[] vector = nodes.get(candidate.node).vector;
+            boolean diverse = true;
+            for (Candidate chosen : selected) {
+                if (similarity(vector, nodes.get(chosen.node).vector) > candidate.similarity) {
+                    diverse = false;
+                    break;
+                }
+            }
+
+            if (diverse) {
+                selected.add(candidate);
+            } else {
+                skipped.add(candidate);
+            }
+        }
+
+        for (int i = 0; i < skipped.size() && selected.size() < count; i++) {
+            selected.add(skipped.get(i));
+        }
+        return selected;
+    }
+
+    private static float similarity(float[] a, float[] b) {
+        return DotKernels.get().dot(a, 0, b, 0, a.length);
+    }
+
+    private record Candidate(int node, float similarity) {
+        static final Comparator<Candidate> BEST_FIRST = (a, b) -> Float.compare(b.similarity, a.similarity);
+        static final Comparator<Candidate> WORST_FIRST = (a, b) -> Float.compare(a.similarity, b.similarity);
+    }
+
+    private static final class Node {
+        private static final int[] NO_LINKS = new int[0];
+
+        final String id;
+        final float[] vector;
+        final int[][] links;
+        final int[] degrees;
+        boolean deleted;
+
+        Node(String id, float[] vector, int level) {
+            this.id = id;
+            this.vector = vector;
+            this.links = new int[level + 1][];
+            this.degrees = new int[level + 1];
+            Arrays.fill(links, NO_LINKS);
+        }
+
+        int degree(int level) {
+            return level < degrees.length ? degrees[level] : 0;
+        }
+
+        void connect(int level, int node) {
+            int[] current = links[level];
+            for (int i = 0; i < degrees[level]; i++) {
+                if (current[i] == node) {
+                    return;
+                }
+            }
+            if (degrees[level] == current.length) {
+                links[level] = current = Arrays.copyOf(current, Math.max(4, current.length * 2));
+            }
+            current[degrees[level]++] = node;
+        }
+
+        void clear(int level) {
+            degrees[level] = 0;
+        }
+    }
+}
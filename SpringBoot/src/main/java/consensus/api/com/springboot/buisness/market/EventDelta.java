@@ -0,0 +1,23 @@
+package consensus.api.com.springboot.buisness.market;
+
+import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record EventDelta(
+        List<PolyMarketInfoDTO> added,
+        List<PolyMarketInfoDTO> changed,
+        List<String> closed
+) {
+    public List<PolyMarketInfoDTO> toEmbed() {
+        List<PolyMarketInfoDTO> toEmbed = new ArrayList<>(added.size() + changed.size());
+        toEmbed.addAll(added);
+        toEmbed.addAll(changed);
+        return toEmbed;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && closed.isEmpty();
+    }
+}
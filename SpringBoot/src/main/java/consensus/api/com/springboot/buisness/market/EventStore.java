@@ -0,0 +1,93 @@
+package consensus.api.com.springboot.buisness.market;
+
+import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+import consensus.api.com.springboot.buisness.embedding.EmbeddingMatrix;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Events seen by the last successful sync, keyed by PolyMarket event id, with a fingerprint of the
+ * embedded text and its embedding. Not thread-safe; the snapshot refresh is its only caller.
+ */
+public class EventStore {
+
+    private final Map<String, StoredEvent> events = new HashMap<>();
+
+    public static String embeddingText(PolyMarketInfoDTO event) {
+        return event.title() + "\n" + event.description();
+    }
+
+    /**
+     * Compares the fetched events with the store without modifying it.
+     */
+    public EventDelta diff(List<PolyMarketInfoDTO> fetched) {
+        List<PolyMarketInfoDTO> added = new ArrayList<>();
+        List<PolyMarketInfoDTO> changed = new ArrayList<>();
+        Set<String> open = new HashSet<>();
+
+        for (PolyMarketInfoDTO event : fetched) {
+            open.add(event.id());
+            StoredEvent stored = events.get(event.id());
+            if (stored == null) {
+                added.add(event);
+            } else if (stored.fingerprint() != fingerprint(event)) {
+                changed.add(event);
+            }
+        }
+
+        List<String> closed = events.keySet().stream()
+                .filter(id -> !open.contains(id))
+                .toList();
+
+        return new EventDelta(added, changed, closed);
+    }
+
+    /**
+     * Records a delta once its events are embedded; row {@code i} of {@code embeddings} belongs to
+     * {@code delta.toEmbed().get(i)}. Unchanged events take the fetched DTO so odds stay current.
+     */
+    public void apply(List<PolyMarketInfoDTO> fetched, EventDelta delta, EmbeddingMatrix embeddings) {
+        List<PolyMarketInfoDTO> toEmbed = delta.toEmbed();
+        for (int i = 0; i < toEmbed.size(); i++) {
+            PolyMarketInfoDTO event = toEmbed.get(i);
+            events.put(event.id(), new StoredEvent(event, fingerprint(event), embeddings.row(i)));
+        }
+
+        for (PolyMarketInfoDTO event : fetched) {
+            events.computeIfPresent(event.id(),
+                    (id, stored) -> new StoredEvent(event, stored.fingerprint(), stored.embedding()));
+        }
+
+        delta.closed().forEach(events::remove);
+    }
+
+    public float[] embedding(String id) {
+        StoredEvent stored = events.get(id);
+        return stored == null ? null : stored.embedding();
+    }
+
+    public int size() {
+        return events.size();
+    }
+
+    private static long fingerprint(PolyMarketInfoDTO event) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(embeddingText(event).getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record StoredEvent(PolyMarketInfoDTO event, long fingerprint, float[] embedding) {}
+}
@@ -0,0 +1,8 @@
+package consensus.api.com.springboot.buisness.market;
+
+public class MarketDataNotReadyException extends RuntimeException {
+
+    public MarketDataNotReadyException(String message) {
+        super(message);
+    }
+}
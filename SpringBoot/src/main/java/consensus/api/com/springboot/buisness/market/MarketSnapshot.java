@@ -0,0 +1,41 @@
+package consensus.api.com.springboot.buisness.market;
+
+import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+import consensus.api.com.springboot.buisness.embedding.EmbeddingMatrix;
+import consensus.api.com.springboot.buisness.embedding.HnswIndex;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the active PolyMarket events shared by every analysis.
+ * Row {@code i} of {@code embeddings} is the normalized embedding of {@code events.get(i)}.
+ * {@code index} is the live event index, which may already be ahead of this snapshot,
+ * so its hits are resolved through {@code rowsById} and unknown ids are skipped.
+ */
+public record MarketSnapshot(
+        long version,
+        Instant refreshedAt,
+        List<PolyMarketInfoDTO> events,
+        EmbeddingMatrix embeddings,
+        HnswIndex index,
+        Map<String, Integer> rowsById
+) {
+    public MarketSnapshot {
+        events = List.copyOf(events);
+        if (embeddings.rows() != events.size()) {
+            throw new IllegalStateException("Event embeddings count doesn't match event count");
+        }
+    }
+
+    public static MarketSnapshot of(long version, Instant refreshedAt, List<PolyMarketInfoDTO> events,
+                                    EmbeddingMatrix embeddings, HnswIndex index) {
+        Map<String, Integer> rowsById = new HashMap<>(events.size() * 2);
+        for (int i = 0; i < events.size(); i++) {
+            rowsById.put(events.get(i).id(), i);
+        }
+        return new MarketSnapshot(version, refreshedAt, events, embeddings, index, Map.copyOf(rowsById));
+    }
+}
@@ -0,0 +1,171 @@
+package consensus.api.com.springboot.buisness.market;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import consensus.api.com.springboot.buisness.DTO.MarketDTO;
+import consensus.api.com.springboot.buisness.DTO.OutcomePriceDTO;
+import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Streams a gamma-api {@code /events} page into DTOs without building a JSON tree: unused fields are
+ * skipped token by token, and the string-encoded {@code outcomes}/{@code outcomePrices} arrays are
+ * tokenized in place instead of being deserialized a second time.
+ */
+public class PolyMarketEventParser {
+
+    private final JsonFactory jsonFactory;
+
+    public PolyMarketEventParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public List<PolyMarketInfoDTO> parse(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected an array of events");
+            }
+
+            List<PolyMarketInfoDTO> events = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                events.add(parseEvent(parser));
+            }
+            return events;
+        }
+    }
+
+    private PolyMarketInfoDTO parseEvent(JsonParser parser) throws IOException {
+        String id = "";
+        String title = "";
+        String description = "";
+        String image = null;
+        List<RawMarket> markets = List.of();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            switch (field) {
+                case "id" -> id = text(parser, "");
+                case "title" -> title = text(parser, "");
+                case "description" -> description = text(parser, "");
+                case "image" -> image = text(parser, null);
+                case "markets" -> markets = value == JsonToken.START_ARRAY ? parseMarkets(parser) : skip(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        // The event image may follow the markets, so market image defaults are applied afterwards
+        List<MarketDTO> marketDTOs = new ArrayList<>(markets.size());
+        for (RawMarket market : markets) {
+            marketDTOs.add(new MarketDTO(
+                    market.id(),
+                    market.question(),
+                    market.image() == null ? image : market.image(),
+                    zipKeepAllOutcomes(market.outcomes(), market.prices())
+            ));
+        }
+
+        return new PolyMarketInfoDTO(id, title, description, marketDTOs);
+    }
+
+    private List<RawMarket> parseMarkets(JsonParser parser) throws IOException {
+        List<RawMarket> markets = new ArrayList<>();
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String id = "";
+            String question = "";
+            String image = null;
+            List<String> outcomes = List.of();
+            List<String> prices = List.of();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+
+                switch (field) {
+                    case "id" -> id = text(parser, "");
+                    case "question" -> question = text(parser, "");
+                    case "image" -> image = text(parser, null);
+                    case "outcomes" -> outcomes = stringArray(parser);
+                    case "outcomePrices" -> prices = stringArray(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            markets.add(new RawMarket(id, question, image, outcomes, prices));
+        }
+        return markets;
+    }
+
+    // gamma-api sends these as strings holding a JSON array, e.g. "[\"Yes\", \"No\"]"; plain arrays are accepted too
+    private List<String> stringArray(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.START_ARRAY) {
+            return readStrings(parser);
+        }
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return Collections.emptyList();
+        }
+
+        String raw = parser.getText();
+        if (raw.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        try (JsonParser nested = jsonFactory.createParser(raw)) {
+            return nested.nextToken() == JsonToken.START_ARRAY ? readStrings(nested) : Collections.emptyList();
+        } catch (IOException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    private static List<String> readStrings(JsonParser parser) throws IOException {
+        List<String> values = new ArrayList<>(2);
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token.isScalarValue()) {
+                values.add(parser.getValueAsString());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return values;
+    }
+
+    private static String text(JsonParser parser, String defaultValue) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? defaultValue : parser.getValueAsString(defaultValue);
+    }
+
+    private static List<RawMarket> skip(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return List.of();
+    }
+
+    private static List<OutcomePriceDTO> zipKeepAllOutcomes(List<String> outcomes, List<String> pricesRaw) {
+        List<OutcomePriceDTO> out = new ArrayList<>(outcomes.size());
+
+        for (int i = 0; i < outcomes.size(); i++) {
+            Double price = null;
+
+            if (i < pricesRaw.size()) {
+                try {
+                    price = Double.parseDouble(pricesRaw.get(i));
+                } catch (Exception ignored) {
+                }
+            }
+
+            out.add(new OutcomePriceDTO(outcomes.get(i), price));
+        }
+
+        return out;
+    }
+
+    private record RawMarket(String id, String question, String image, List<String> outcomes, List<String> prices) {}
+}
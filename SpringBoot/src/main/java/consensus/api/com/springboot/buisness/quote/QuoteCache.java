@@ -0,0 +1,263 @@
+package consensus.api.com.springboot.buisness.quote;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import consensus.api.com.springboot.buisness.DTO.StockDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Quote cache shared by all users. Quotes younger than the TTL are served directly; older ones are
+ * served while a background refresh runs (stale-while-revalidate) until they pass the stale window.
+ * Concurrent misses for one symbol share a single upstream request. Entries are kept past the stale
+ * window, up to {@code retain-ms}, only so {@link #peek} can report a last known price.
+ */
+@Slf4j
+@Component
+public class QuoteCache {
+
+    private final Map<String, Entry> entries;
+    private final Map<String, CompletableFuture<StockDTO>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    private final ExecutorService refreshExecutor;
+    private final long ttlNanos;
+    private final long staleNanos;
+
+    public QuoteCache(
+            @Qualifier("quoteRefreshExecutor") ExecutorService refreshExecutor,
+            @Value("${quotes.cache.ttl-ms:15000}") long ttlMs,
+            @Value("${quotes.cache.stale-ms:120000}") long staleMs,
+            @Value("${quotes.cache.retain-ms:86400000}") long retainMs,
+            @Value("${quotes.cache.maximum-size:10000}") long maximumSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(Math.max(retainMs, staleMs)))
+                .<String, Entry>build()
+                .asMap();
+        this.refreshExecutor = refreshExecutor;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.staleNanos = TimeUnit.MILLISECONDS.toNanos(staleMs);
+
+        counter(meterRegistry, "hit", hits);
+        counter(meterRegistry, "stale", staleHits);
+        counter(meterRegistry, "miss", misses);
+        counter(meterRegistry, "coalesced", coalesced);
+        Gauge.builder("quote.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    public StockDTO get(String symbol, Function<String, StockDTO> loader) {
+        String key = key(symbol);
+        Entry entry = entries.get(key);
+        long age = entry == null ? Long.MAX_VALUE : System.nanoTime() - entry.fetchedAt();
+
+        if (age <= ttlNanos) {
+            hits.increment();
+            return entry.quote();
+        }
+
+        if (age <= staleNanos) {
+            staleHits.increment();
+            refreshInBackground(key, loader);
+            return entry.quote();
+        }
+
+        misses.increment();
+        try {
+            return load(key, loader, true).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Batch form of {@link #get}: fresh and stale quotes are served from the cache, misses not already
+     * in flight are loaded together in one {@code batchLoader} call. Keys of the result are upper-cased
+     * symbols; symbols the loader could not price are absent.
+     */
+    public Map<String, StockDTO> getAll(Collection<String> symbols,
+                                        Function<List<String>, Map<String, StockDTO>> batchLoader) {
+        Map<String, StockDTO> result = new HashMap<>();
+        List<String> stale = new ArrayList<>();
+        Set<String> missing = new LinkedHashSet<>();
+
+        long now = System.nanoTime();
+        for (String symbol : symbols) {
+            String key = key(symbol);
+            Entry entry = entries.get(key);
+            long age = entry == null ? Long.MAX_VALUE : now - entry.fetchedAt();
+
+            if (age <= ttlNanos) {
+                hits.increment();
+                result.put(key, entry.quote());
+            } else if (age <= staleNanos) {
+                staleHits.increment();
+                result.put(key, entry.quote());
+                stale.add(key);
+            } else if (missing.add(key)) {
+                misses.increment();
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            refreshAllInBackground(stale, batchLoader);
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, CompletableFuture<StockDTO>> pending = new HashMap<>();
+            Map<String, CompletableFuture<StockDTO>> owned = new HashMap<>();
+
+            for (String key : missing) {
+                CompletableFuture<StockDTO> mine = new CompletableFuture<>();
+                CompletableFuture<StockDTO> existing = inFlight.putIfAbsent(key, mine);
+                if (existing != null) {
+                    coalesced.increment();
+                    pending.put(key, existing);
+                } else {
+                    owned.put(key, mine);
+                    pending.put(key, mine);
+                }
+            }
+
+            loadAll(owned, batchLoader);
+
+            pending.forEach((key, quote) -> {
+                StockDTO loaded = quote.exceptionally(e -> null).join();
+                if (loaded != null) {
+                    result.put(key, loaded);
+                }
+            });
+        }
+
+        return result;
+    }
+
+    /**
+     * Last quote seen for {@code symbol}, however old, or {@code null}.
+     */
+    public StockDTO peek(String symbol) {
+        Entry entry = entries.get(key(symbol));
+        return entry == null ? null : entry.quote();
+    }
+
+    private CompletableFuture<StockDTO> load(String key, Function<String, StockDTO> loader, boolean countCoalesced) {
+        CompletableFuture<StockDTO> mine = new CompletableFuture<>();
+        CompletableFuture<StockDTO> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            if (countCoalesced) {
+                coalesced.increment();
+            }
+            return existing;
+        }
+
+        try {
+            StockDTO quote = loader.apply(key);
+            // Failed lookups are not cached so the next request retries upstream
+            if (quote != null && quote.price() != null) {
+                entries.put(key, new Entry(quote, System.nanoTime()));
+            }
+            mine.complete(quote);
+        } catch (Throwable e) {
+            // Errors too: a coalesced waiter on a never-completed future would hang until its own timeout
+            mine.completeExceptionally(e);
+            if (e instanceof Error error) {
+                throw error;
+            }
+        } finally {
+            inFlight.remove(key, mine);
+        }
+        return mine;
+    }
+
+    private void loadAll(Map<String, CompletableFuture<StockDTO>> owned,
+                         Function<List<String>, Map<String, StockDTO>> batchLoader) {
+        if (owned.isEmpty()) {
+            return;
+        }
+
+        try {
+            Map<String, StockDTO> loaded = batchLoader.apply(List.copyOf(owned.keySet()));
+            owned.forEach((key, future) -> {
+                StockDTO quote = loaded.get(key);
+                if (quote != null && quote.price() != null) {
+                    entries.put(key, new Entry(quote, System.nanoTime()));
+                }
+                future.complete(quote);
+            });
+        } catch (Throwable e) {
+            owned.values().forEach(future -> future.completeExceptionally(e));
+            if (e instanceof Error error) {
+                throw error;
+            }
+        } finally {
+            owned.forEach(inFlight::remove);
+        }
+    }
+
+    private void refreshAllInBackground(List<String> keys, Function<List<String>, Map<String, StockDTO>> batchLoader) {
+        try {
+            refreshExecutor.execute(() -> {
+                Map<String, CompletableFuture<StockDTO>> owned = new HashMap<>();
+                for (String key : keys) {
+                    CompletableFuture<StockDTO> mine = new CompletableFuture<>();
+                    if (inFlight.putIfAbsent(key, mine) == null) {
+                        owned.put(key, mine);
+                    }
+                }
+                loadAll(owned, batchLoader);
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Skipped background refresh of {}", keys);
+        }
+    }
+
+    private void refreshInBackground(String key, Function<String, StockDTO> loader) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> load(key, loader, false));
+        } catch (RejectedExecutionException e) {
+            log.debug("Skipped background refresh of {}", key);
+        }
+    }
+
+    private static String key(String symbol) {
+        return symbol.trim().toUpperCase();
+    }
+
+    private static void counter(MeterRegistry registry, String result, LongAdder adder) {
+        FunctionCounter.builder("quote.cache.requests", adder, LongAdder::sum)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record Entry(StockDTO quote, long fetchedAt) {}
+}
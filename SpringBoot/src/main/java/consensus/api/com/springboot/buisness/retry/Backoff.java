@@ -0,0 +1,17 @@
+package consensus.api.com.springboot.buisness.retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff capped at {@code max}. Each delay is drawn from the upper half of its step
+ * so retries from many callers do not line up.
+ */
+public record Backoff(Duration initial, Duration max) {
+
+    // attempt counts from 0 for the first retry
+    public Duration delay(int attempt) {
+        long step = Math.min(max.toMillis(), initial.toMillis() << Math.min(attempt, 30));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(step / 2, step + 1));
+    }
+}
@@ -0,0 +1,141 @@
+package consensus.api.com.springboot.buisness.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Immutable prefix index over ticker symbols and company names. Keys are held in two sorted arrays
+ * (symbols, and every word-suffix of each name) with a parallel array of entry ids, so a lookup is a
+ * binary search for the first key at or after the prefix followed by a short forward scan.
+ * Instances are built off the request path and swapped in whole.
+ */
+public final class SymbolIndex {
+
+    public record Entry(String symbol, String name, String exchange) {}
+
+    private static final SymbolIndex EMPTY = build(List.of());
+
+    private final Entry[] entries;
+    private final String[] symbolKeys;
+    private final int[] symbolEntries;
+    private final String[] nameKeys;
+    private final int[] nameEntries;
+
+    private SymbolIndex(Entry[] entries, String[] symbolKeys, int[] symbolEntries, String[] nameKeys, int[] nameEntries) {
+        this.entries = entries;
+        this.symbolKeys = symbolKeys;
+        this.symbolEntries = symbolEntries;
+        this.nameKeys = nameKeys;
+        this.nameEntries = nameEntries;
+    }
+
+    public static SymbolIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds an index over {@code entries}; when a symbol appears more than once the first entry wins.
+     */
+    public static SymbolIndex build(Collection<Entry> source) {
+        List<Entry> unique = new ArrayList<>(source.size());
+        Set<String> seen = new HashSet<>();
+        for (Entry entry : source) {
+            if (entry.symbol() != null && !entry.symbol().isBlank() && seen.add(normalizeSymbol(entry.symbol()))) {
+                unique.add(entry);
+            }
+        }
+
+        List<Key> symbolKeys = new ArrayList<>(unique.size());
+        List<Key> nameKeys = new ArrayList<>(unique.size() * 3);
+        for (int i = 0; i < unique.size(); i++) {
+            symbolKeys.add(new Key(normalizeSymbol(unique.get(i).symbol()), i));
+
+            String name = normalizeName(unique.get(i).name());
+            for (int start = 0; start < name.length(); start = name.indexOf(' ', start) + 1) {
+                // Every word-suffix, so "america" finds "Bank of America Corporation"
+                nameKeys.add(new Key(name.substring(start), i));
+                if (name.indexOf(' ', start) < 0) {
+                    break;
+                }
+            }
+        }
+
+        symbolKeys.sort(Key.ORDER);
+        nameKeys.sort(Key.ORDER);
+
+        return new SymbolIndex(
+                unique.toArray(Entry[]::new),
+                symbolKeys.stream().map(Key::text).toArray(String[]::new),
+                symbolKeys.stream().mapToInt(Key::entry).toArray(),
+                nameKeys.stream().map(Key::text).toArray(String[]::new),
+                nameKeys.stream().mapToInt(Key::entry).toArray());
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Up to {@code limit} entries whose symbol, or any word-suffix of whose name, starts with {@code query}.
+     * Symbol matches come first, an exact symbol match ahead of all others.
+     */
+    public List<Entry> search(String query, int limit) {
+        Set<Integer> found = new LinkedHashSet<>();
+        collect(symbolKeys, symbolEntries, normalizeSymbol(query), limit, found);
+
+        String name = normalizeName(query);
+        if (!name.isEmpty()) {
+            collect(nameKeys, nameEntries, name, limit, found);
+        }
+
+        List<Entry> results = new ArrayList<>(found.size());
+        for (int entry : found) {
+            results.add(entries[entry]);
+        }
+        return results;
+    }
+
+    private static void collect(String[] keys, int[] keyEntries, String prefix, int limit, Set<Integer> found) {
+        if (prefix.isEmpty()) {
+            return;
+        }
+
+        for (int at = lowerBound(keys, prefix); at < keys.length && found.size() < limit && keys[at].startsWith(prefix); at++) {
+            found.add(keyEntries[at]);
+        }
+    }
+
+    // First key not less than prefix; Arrays.binarySearch may land anywhere in a run of equal keys
+    private static int lowerBound(String[] keys, String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static String normalizeSymbol(String symbol) {
+        return symbol.trim().toUpperCase(Locale.ROOT);
+    }
+
+    static String normalizeName(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private record Key(String text, int entry) {
+        // Ties keep entry order so the first source of a symbol ranks first
+        static final Comparator<Key> ORDER = Comparator.comparing(Key::text).thenComparingInt(Key::entry);
+    }
+}
@@ -1,5 +1,6 @@
 package consensus.api.com.springboot.configuration;
 
+import consensus.api.com.springboot.presentation.AnalysisController;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
@@ -22,6 +23,7 @@ public class ApplicationConfig implements WebMvcConfigurer {
                 .allowedOrigins(applicationProps.getClientOriginUrl())
                 .allowedHeaders(HttpHeaders.AUTHORIZATION, HttpHeaders.CONTENT_TYPE)
                 .allowedMethods(HttpMethod.GET.name())
+                .exposedHeaders(AnalysisController.STALE_HEADER, HttpHeaders.LAST_MODIFIED)
                 .maxAge(86400);
     }
 }
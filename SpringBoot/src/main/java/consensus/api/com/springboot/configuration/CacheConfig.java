@@ -1,10 +1,104 @@
 package consensus.api.com.springboot.configuration;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import consensus.api.com.springboot.buisness.DTO.AnalysisSummaryDTO;
+import consensus.api.com.springboot.configuration.cache.CacheEntry;
+import consensus.api.com.springboot.configuration.cache.CachingProperties;
+import consensus.api.com.springboot.configuration.cache.TieredCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+@Slf4j
 @Configuration
 @EnableCaching
 public class CacheConfig {
-}
 
+    @Bean
+    public CacheManager cacheManager(CachingProperties properties, MongoTemplate mongoTemplate) {
+        Map<String, CachingProperties.Spec> specs = properties.getSpecs();
+        if (specs.values().stream().anyMatch(CachingProperties.Spec::persistent)) {
+            createStoreIndexes(mongoTemplate);
+        }
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(
+                    String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                CaffeineCache local = (CaffeineCache) super.adaptCaffeineCache(name, cache);
+                CachingProperties.Spec spec = specs.get(name);
+                return spec != null && spec.persistent()
+                        ? new TieredCache(local, mongoTemplate, spec.timeToLive())
+                        : local;
+            }
+        };
+
+        // Caches without their own spec are still bounded and expiring
+        cacheManager.setCaffeine(builder(properties.getDefaults()));
+        specs.forEach((name, spec) -> cacheManager.registerCustomCache(name, builder(spec).build()));
+        return cacheManager;
+    }
+
+    // Picked up by the actuator cache metrics registrar alongside its built-in Caffeine support
+    @Bean
+    public CacheMeterBinderProvider<TieredCache> tieredCacheMeterBinderProvider() {
+        return (cache, tags) -> registry -> {
+            new CaffeineCacheMetrics<>(cache.localCache(), cache.getName(), tags).bindTo(registry);
+
+            FunctionCounter.builder("cache.remote.gets", cache, TieredCache::remoteHits)
+                    .tags(tags).tag("cache", cache.getName()).tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.remote.gets", cache, TieredCache::remoteMisses)
+                    .tags(tags).tag("cache", cache.getName()).tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    static Caffeine<Object, Object> builder(CachingProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(spec.timeToLive())
+                .recordStats();
+
+        if (spec.maximumWeight() > 0) {
+            // Weighted by result size so a few users with large match lists can't crowd out everyone else
+            return builder
+                    .maximumWeight(spec.maximumWeight())
+                    .weigher((key, value) -> weigh(value));
+        }
+        return builder.maximumSize(spec.maximumSize());
+    }
+
+    // One per match or element, so maximum-weight bounds cached matches rather than cached users
+    static int weigh(Object value) {
+        if (value instanceof AnalysisSummaryDTO summary) {
+            return Math.max(1, summary.matches().size());
+        }
+        return value instanceof Collection<?> values ? Math.max(1, values.size()) : 1;
+    }
+
+    private static void createStoreIndexes(MongoTemplate mongoTemplate) {
+        try {
+            IndexOperations indexes = mongoTemplate.indexOps(CacheEntry.class);
+            indexes.ensureIndex(new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO));
+            indexes.ensureIndex(new Index().on("cache", Sort.Direction.ASC));
+        } catch (DataAccessException e) {
+            log.warn("Failed to create cache store indexes, expired entries will not be removed", e);
+        }
+    }
+}
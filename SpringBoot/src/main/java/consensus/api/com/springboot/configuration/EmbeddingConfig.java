@@ -0,0 +1,20 @@
+package consensus.api.com.springboot.configuration;
+
+import consensus.api.com.springboot.buisness.embedding.HnswIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EmbeddingConfig {
+
+    @Bean
+    public HnswIndex eventIndex(
+            @Value("${market.index.m:16}") int m,
+            @Value("${market.index.ef-construction:100}") int efConstruction,
+            @Value("${market.index.ef-search:64}") int efSearch,
+            @Value("${market.index.exact-threshold:2000}") int exactThreshold
+    ) {
+        return new HnswIndex(m, efConstruction, efSearch, exactThreshold);
+    }
+}
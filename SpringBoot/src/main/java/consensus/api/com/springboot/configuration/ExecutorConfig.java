@@ -0,0 +1,100 @@
+package consensus.api.com.springboot.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executors for outbound fan-out. With {@code spring.threads.virtual.enabled} they start one virtual thread
+ * per task instead of using a fixed pool; upstream concurrency stays capped by each client's bulkhead.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService geminiExecutor(@Value("${gemini.embedding.parallelism:4}") int parallelism) {
+        return blockingIoExecutor("gemini-embed-", parallelism);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService quoteExecutor(@Value("${portfolio.quotes.parallelism:16}") int parallelism,
+                                         @Value("${portfolio.quotes.queue-capacity:64}") int queueCapacity) {
+        return boundedIoExecutor("quote-fetch-", parallelism, queueCapacity);
+    }
+
+    // Background quote refreshes get their own pool so they never take capacity from portfolio fetches
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService quoteRefreshExecutor(@Value("${quotes.cache.refresh-parallelism:4}") int parallelism,
+                                                @Value("${quotes.cache.refresh-queue-capacity:32}") int queueCapacity) {
+        return boundedIoExecutor("quote-refresh-", parallelism, queueCapacity);
+    }
+
+    // Catalog enrichment takes several upstream calls per symbol, so it is kept apart from quote fetches
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService symbolProfileExecutor(@Value("${symbol-profiles.load.parallelism:4}") int parallelism,
+                                                 @Value("${symbol-profiles.load.queue-capacity:32}") int queueCapacity) {
+        return boundedIoExecutor("symbol-profile-", parallelism, queueCapacity);
+    }
+
+    // No queue: a hedge that cannot start at once would only arrive late, so it is skipped instead
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService hedgeExecutor(@Value("${outbound.hedging.parallelism:16}") int parallelism) {
+        if (virtualThreads) {
+            return blockingIoExecutor("yahoo-hedge-", parallelism);
+        }
+        return new ThreadPoolExecutor(0, parallelism, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new CustomizableThreadFactory("yahoo-hedge-"));
+    }
+
+    // Bounded queue: analysis jobs beyond it are rejected up front instead of piling up.
+    // Scoring is CPU-bound, so this stays a platform pool in both modes.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService analysisExecutor(@Value("${analysis.jobs.parallelism:4}") int parallelism,
+                                            @Value("${analysis.jobs.queue-capacity:100}") int queueCapacity) {
+        return new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("analysis-job-"));
+    }
+
+    // Runs market snapshot refreshes so the scheduler tick that triggers them returns at once
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService marketSnapshotExecutor() {
+        return blockingIoExecutor("market-snapshot-", 1);
+    }
+
+    // Writes analysis job events to SSE clients, so a slow client never holds an analysis thread.
+    // Bounded so stalled clients drop their streams instead of queueing deliveries without limit.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService analysisEventExecutor(@Value("${analysis.jobs.sender-parallelism:16}") int parallelism,
+                                                 @Value("${analysis.jobs.sender-queue-capacity:256}") int queueCapacity) {
+        return boundedIoExecutor("analysis-events-", parallelism, queueCapacity);
+    }
+
+    private ExecutorService blockingIoExecutor(String threadNamePrefix, int parallelism) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        }
+        return Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory(threadNamePrefix));
+    }
+
+    // Rejects once the queue is full, so callers fall back instead of waiting behind a slow upstream.
+    // Virtual threads are not queued at all: each task reaches the upstream's bulkhead, which rejects fast.
+    private ExecutorService boundedIoExecutor(String threadNamePrefix, int parallelism, int queueCapacity) {
+        if (virtualThreads) {
+            return blockingIoExecutor(threadNamePrefix, parallelism);
+        }
+        return new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory(threadNamePrefix));
+    }
+}
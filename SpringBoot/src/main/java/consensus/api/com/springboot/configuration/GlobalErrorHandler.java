@@ -1,5 +1,8 @@
 package consensus.api.com.springboot.configuration;
 
+import consensus.api.com.springboot.buisness.analysis.AnalysisJobNotFoundException;
+import consensus.api.com.springboot.buisness.analysis.TooManyAnalysisJobsException;
+import consensus.api.com.springboot.buisness.market.MarketDataNotReadyException;
 import consensus.api.com.springboot.presentation.ErrorMessage;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
@@ -18,6 +21,24 @@ public class GlobalErrorHandler {
         return ErrorMessage.from("Not Found");
     }
 
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler(AnalysisJobNotFoundException.class)
+    public ErrorMessage handleAnalysisJobNotFound(final HttpServletRequest request, final Exception error) {
+        return ErrorMessage.from("Analysis job not found");
+    }
+
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(TooManyAnalysisJobsException.class)
+    public ErrorMessage handleTooManyAnalysisJobs(final HttpServletRequest request, final Exception error) {
+        return ErrorMessage.from("Too many analyses in progress, wait for one to finish");
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(MarketDataNotReadyException.class)
+    public ErrorMessage handleMarketDataNotReady(final HttpServletRequest request, final Exception error) {
+        return ErrorMessage.from(error.getMessage());
+    }
+
     @ResponseStatus(HttpStatus.FORBIDDEN)
     @ExceptionHandler(AccessDeniedException.class)
     public ErrorMessage handleAccessDenied(final HttpServletRequest request, final Exception error) {
@@ -0,0 +1,47 @@
+package consensus.api.com.springboot.configuration;
+
+import consensus.api.com.springboot.data.Portfolio;
+import consensus.api.com.springboot.data.SymbolProfile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared with {@code @Indexed} on our documents. Auto index creation is off by
+ * default, and a failure here (e.g. duplicate userIds left over from before the unique index) is logged
+ * rather than stopping startup.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class MongoIndexConfig {
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(Portfolio.class, SymbolProfile.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        for (Class<?> document : INDEXED_DOCUMENTS) {
+            IndexOperations indexes = mongoTemplate.indexOps(document);
+            try {
+                resolver.resolveIndexFor(document).forEach(indexes::ensureIndex);
+            } catch (DataAccessException e) {
+                log.error("Failed to create indexes for {}", document.getSimpleName(), e);
+            }
+        }
+    }
+}
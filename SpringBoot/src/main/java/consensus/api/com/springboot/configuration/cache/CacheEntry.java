@@ -0,0 +1,21 @@
+package consensus.api.com.springboot.configuration.cache;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "cache_entries")
+public class CacheEntry {
+    @Id
+    private String id;
+    private String cache;
+
+    private Object value;
+    private Instant expiresAt;
+}
@@ -0,0 +1,35 @@
+package consensus.api.com.springboot.configuration.cache;
+
+import lombok.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Value
+@ConfigurationProperties(prefix = "caches")
+public class CachingProperties {
+
+    Spec defaults;
+    Map<String, Spec> specs;
+
+    @ConstructorBinding
+    public CachingProperties(@DefaultValue final Spec defaults, @DefaultValue final Map<String, Spec> specs) {
+        this.defaults = defaults;
+        this.specs = specs;
+    }
+
+    /**
+     * A positive {@code maximumWeight} bounds the cache by the summed size of its cached collections
+     * (the matches, for an analysis summary) and takes precedence over {@code maximumSize}, which bounds
+     * the number of entries.
+     */
+    public record Spec(
+            @DefaultValue("1000") long maximumSize,
+            @DefaultValue("0") long maximumWeight,
+            @DefaultValue("10m") Duration timeToLive,
+            @DefaultValue("false") boolean persistent
+    ) {}
+}
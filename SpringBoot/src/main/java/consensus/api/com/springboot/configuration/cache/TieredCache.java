@@ -0,0 +1,166 @@
+package consensus.api.com.springboot.configuration.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caffeine cache backed by the {@code cache_entries} Mongo collection, so warm entries survive restarts.
+ * Local misses fall through to Mongo; writes and evictions go to both. Mongo failures degrade to local-only.
+ */
+@Slf4j
+public class TieredCache implements Cache {
+
+    private final CaffeineCache local;
+    private final MongoTemplate mongoTemplate;
+    private final Duration timeToLive;
+
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+
+    public TieredCache(CaffeineCache local, MongoTemplate mongoTemplate, Duration timeToLive) {
+        this.local = local;
+        this.mongoTemplate = mongoTemplate;
+        this.timeToLive = timeToLive;
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache() {
+        return local.getNativeCache();
+    }
+
+    public long remoteHits() {
+        return remoteHits.sum();
+    }
+
+    public long remoteMisses() {
+        return remoteMisses.sum();
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper cached = local.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Object stored = loadRemote(key);
+        if (stored == null) {
+            return null;
+        }
+
+        local.put(key, stored);
+        return new SimpleValueWrapper(stored);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper cached = get(key);
+        Object value = cached == null ? null : cached.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return local.get(key, () -> {
+            Object stored = loadRemote(key);
+            if (stored != null) {
+                return (T) stored;
+            }
+
+            T loaded = valueLoader.call();
+            storeRemote(key, loaded);
+            return loaded;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+        storeRemote(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        try {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(id(key))), CacheEntry.class);
+        } catch (DataAccessException e) {
+            log.warn("Failed to evict {} from the {} cache store", key, getName(), e);
+        }
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        try {
+            mongoTemplate.remove(Query.query(Criteria.where("cache").is(getName())), CacheEntry.class);
+        } catch (DataAccessException e) {
+            log.warn("Failed to clear the {} cache store", getName(), e);
+        }
+    }
+
+    private Object loadRemote(Object key) {
+        try {
+            // The TTL monitor only runs periodically, so expired documents are filtered here as well
+            CacheEntry entry = mongoTemplate.findOne(Query.query(Criteria.where("_id").is(id(key))
+                    .and("expiresAt").gt(Instant.now())), CacheEntry.class);
+
+            if (entry == null || entry.getValue() == null) {
+                remoteMisses.increment();
+                return null;
+            }
+
+            remoteHits.increment();
+            return entry.getValue();
+        } catch (DataAccessException e) {
+            log.warn("Failed to read {} from the {} cache store", key, getName(), e);
+            return null;
+        }
+    }
+
+    private void storeRemote(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+
+        try {
+            mongoTemplate.save(CacheEntry.builder()
+                    .id(id(key))
+                    .cache(getName())
+                    .value(value)
+                    .expiresAt(Instant.now().plus(timeToLive))
+                    .build());
+        } catch (DataAccessException e) {
+            log.warn("Failed to write {} to the {} cache store", key, getName(), e);
+        }
+    }
+
+    private String id(Object key) {
+        return getName() + "::" + key;
+    }
+}
@@ -0,0 +1,124 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of in-flight requests to one upstream so a slow upstream cannot hold every
+ * request thread. The cap adapts to the upstream's latency (see {@link GradientLimit}) and
+ * callers over it are rejected immediately instead of queueing behind the slow calls.
+ */
+public class Bulkhead implements ClientHttpRequestInterceptor {
+
+    private final Upstream upstream;
+    private final GradientLimit limit;
+    private final Counter rejected;
+
+    public Bulkhead(Upstream upstream, GradientLimit limit, MeterRegistry meterRegistry) {
+        this.upstream = upstream;
+        this.limit = limit;
+
+        Gauge.builder("outbound.bulkhead.limit", limit, GradientLimit::limit)
+                .tag("upstream", upstream.tag())
+                .register(meterRegistry);
+        Gauge.builder("outbound.bulkhead.inflight", limit, GradientLimit::inFlight)
+                .tag("upstream", upstream.tag())
+                .register(meterRegistry);
+        this.rejected = Counter.builder("outbound.bulkhead.rejected")
+                .tag("upstream", upstream.tag())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!limit.tryAcquire()) {
+            rejected.increment();
+            throw new UpstreamRejectedException(upstream);
+        }
+
+        long start = System.nanoTime();
+        ClientHttpResponse response = null;
+        try {
+            response = execution.execute(request, body);
+            // Throttling and server errors mean the upstream is struggling, not that it answered quickly
+            int status = response.getStatusCode().value();
+            return new PermitHoldingResponse(response, start, status == 429 || status >= 500);
+        } catch (IOException | RuntimeException e) {
+            if (response != null) {
+                response.close();
+            }
+            release(start, true);
+            throw e;
+        }
+    }
+
+    private void release(long start, boolean dropped) {
+        if (RequestCancellation.isCurrentCancelled()) {
+            // Aborted by a hedge that answered first
+            limit.release();
+        } else {
+            limit.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    /**
+     * Keeps the slot until the response is closed, so a body streamed after the interceptors return
+     * (as with {@code RestTemplate.execute}) still counts against the limit and towards the round-trip time.
+     */
+    private final class PermitHoldingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final long start;
+        private final boolean dropped;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitHoldingResponse(ClientHttpResponse delegate, long start, boolean dropped) {
+            this.delegate = delegate;
+            this.start = start;
+            this.dropped = dropped;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    release(start, dropped);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.net.URI;
+
+// Hands each request to the RequestCancellation running on the calling thread, if any
+class CancellableRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+    CancellableRequestFactory(HttpClient httpClient) {
+        super(httpClient);
+    }
+
+    @Override
+    protected ClassicHttpRequest createHttpUriRequest(HttpMethod httpMethod, URI uri) {
+        ClassicHttpRequest request = super.createHttpUriRequest(httpMethod, uri);
+        if (request instanceof Cancellable cancellable) {
+            RequestCancellation.register(cancellable);
+        }
+        return request;
+    }
+}
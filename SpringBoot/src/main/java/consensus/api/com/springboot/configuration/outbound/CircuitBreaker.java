@@ -0,0 +1,146 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stops calling an upstream after {@code failureThreshold} consecutive failures. While open, calls are
+ * rejected without touching the network; once {@code openDuration} has passed a single probe is let
+ * through, and its outcome either closes the circuit or opens it again.
+ */
+public class CircuitBreaker implements ClientHttpRequestInterceptor {
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final Upstream upstream;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Counter rejected;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probing;
+
+    public CircuitBreaker(Upstream upstream, int failureThreshold, Duration openDuration, MeterRegistry meterRegistry) {
+        this.upstream = upstream;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+
+        Gauge.builder("outbound.circuit.state", this, breaker -> breaker.state.ordinal())
+                .description("0 closed, 1 half-open, 2 open")
+                .tag("upstream", upstream.tag())
+                .register(meterRegistry);
+        this.rejected = Counter.builder("outbound.circuit.rejected")
+                .tag("upstream", upstream.tag())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!tryPass(System.nanoTime())) {
+            rejected.increment();
+            throw new UpstreamUnavailableException(upstream);
+        }
+
+        Boolean failed = Boolean.TRUE;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int status = response.getStatusCode().value();
+            failed = status == 429 || status >= 500;
+            return response;
+        } catch (UpstreamRejectedException e) {
+            // Shed by the bulkhead before reaching the upstream, so it says nothing about its health
+            failed = null;
+            throw e;
+        } finally {
+            // Nor does a request aborted because its hedge answered first
+            record(RequestCancellation.isCurrentCancelled() ? null : failed, System.nanoTime());
+        }
+    }
+
+    State state() {
+        return state;
+    }
+
+    boolean tryPass(long now) {
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED -> {
+                    return true;
+                }
+                case OPEN -> {
+                    if (now - openedAt < openNanos) {
+                        return false;
+                    }
+                    state = State.HALF_OPEN;
+                    probing = true;
+                    return true;
+                }
+                default -> {
+                    // One probe at a time while half-open
+                    if (probing) {
+                        return false;
+                    }
+                    probing = true;
+                    return true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A null outcome is neutral: it frees a half-open probe without counting for or against the upstream
+    void record(Boolean failed, long now) {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                probing = false;
+                if (failed == null) {
+                    return;
+                }
+                if (failed) {
+                    open(now);
+                } else {
+                    state = State.CLOSED;
+                    consecutiveFailures = 0;
+                }
+                return;
+            }
+
+            if (failed == null) {
+                return;
+            }
+            if (!failed) {
+                consecutiveFailures = 0;
+            } else if (++consecutiveFailures >= failureThreshold && state == State.CLOSED) {
+                open(now);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openedAt = now;
+        consecutiveFailures = 0;
+    }
+}
@@ -0,0 +1,121 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows the ratio between a baseline and the latest round-trip time.
+ * The baseline is a moving average over roughly {@code baselineWindow}, so a brownout shrinks the
+ * limit towards {@code minLimit} for about that long before it is accepted as the new normal; while
+ * latency stays near the baseline the limit grows towards {@code maxLimit}. Failed or throttled calls
+ * back the limit off multiplicatively.
+ */
+public class GradientLimit {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long baselineWindowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile double limit;
+
+    // Guarded by lock
+    private double baselineRttNanos;
+    private long lastSampleAt;
+    private boolean sampled;
+
+    public GradientLimit(int minLimit, int maxLimit, double tolerance, Duration baselineWindow) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = tolerance;
+        this.baselineWindowNanos = Math.max(1, baselineWindow.toNanos());
+        this.limit = this.maxLimit;
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Takes a slot if fewer than {@link #limit()} calls are in flight; never waits.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases the slot taken by {@link #tryAcquire()} without adjusting the limit, for calls whose
+     * outcome says nothing about the upstream.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Releases the slot taken by {@link #tryAcquire()} and adjusts the limit from the call's outcome.
+     */
+    public void release(long rttNanos, boolean dropped) {
+        release(rttNanos, dropped, System.nanoTime());
+    }
+
+    void release(long rttNanos, boolean dropped, long now) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+
+        lock.lock();
+        try {
+            double current = limit;
+
+            if (dropped) {
+                limit = Math.max(minLimit, current * BACKOFF_RATIO);
+                return;
+            }
+
+            rttNanos = Math.max(1, rttNanos);
+            if (!sampled) {
+                baselineRttNanos = rttNanos;
+                sampled = true;
+            } else {
+                // Time-weighted, so the baseline moves at the same pace whatever the request rate
+                double weight = Math.min(1.0, (double) (now - lastSampleAt) / baselineWindowNanos);
+                baselineRttNanos += (rttNanos - baselineRttNanos) * weight;
+            }
+            lastSampleAt = now;
+
+            // Latency well under the baseline means a past slowdown is over; let the baseline catch up
+            if (baselineRttNanos > 2.0 * rttNanos) {
+                baselineRttNanos *= 0.95;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineRttNanos / rttNanos));
+            double next = current * gradient + Math.sqrt(current);
+
+            // Only grow a limit that is actually being used
+            if (next > current && inFlightAtCompletion * 2 < current) {
+                return;
+            }
+
+            next = current * (1 - SMOOTHING) + next * SMOOTHING;
+            limit = Math.max(minLimit, Math.min(maxLimit, next));
+        } finally {
+            lock.unlock();
+        }
+    }
+}
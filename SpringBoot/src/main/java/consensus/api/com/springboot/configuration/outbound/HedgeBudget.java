@@ -0,0 +1,45 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket for hedged requests: every primary request earns {@code percent}/100 of a hedge and
+ * each hedge spends one, so hedges add at most that share of extra load. At most {@code maxBanked}
+ * hedges can be saved up for a burst.
+ */
+class HedgeBudget {
+
+    // Kept in thousandths of a hedge so a 5% budget is a whole number per request
+    private static final long HEDGE = 1000;
+
+    private final long perRequest;
+    private final long max;
+    private final AtomicLong balance;
+
+    HedgeBudget(double percent, int maxBanked) {
+        this.perRequest = Math.round(percent * HEDGE / 100);
+        this.max = maxBanked * HEDGE;
+        this.balance = new AtomicLong(this.max);
+    }
+
+    void deposit() {
+        balance.accumulateAndGet(perRequest, (current, add) -> Math.min(max, current + add));
+    }
+
+    boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < HEDGE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - HEDGE)) {
+                return true;
+            }
+        }
+    }
+
+    // Returns a withdrawn hedge that was never sent
+    void refund() {
+        balance.accumulateAndGet(HEDGE, (current, add) -> Math.min(max, current + add));
+    }
+}
@@ -0,0 +1,204 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GETs from a primary upstream, hedged to an alternate host serving the same API. The primary request
+ * runs on the calling thread; if it has not answered within its recent {@code percentile} latency, the
+ * same request is started on the alternate from {@code executor}. The first successful response wins
+ * and the other request is aborted. Hedges are capped by a {@link HedgeBudget} of {@code budgetPercent}
+ * of primary requests, and skipped when the executor has no free thread.
+ */
+public class HedgedClient {
+
+    private static final int WINDOW_SIZE = 1024;
+    private static final int MIN_SAMPLES = 100;
+    private static final int MAX_BANKED_HEDGES = 10;
+
+    private static final int PENDING = 0;
+    private static final int FIRED = 1;
+    private static final int CLOSED = 2;
+
+    private final RestTemplate primary;
+    private final RestTemplate alternate;
+    private final ExecutorService executor;
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long initialDelayNanos;
+
+    private final LatencyWindow latencies = new LatencyWindow(WINDOW_SIZE, MIN_SAMPLES);
+    private final HedgeBudget budget;
+    private final ScheduledThreadPoolExecutor timer;
+
+    private final Counter fired;
+    private final Counter won;
+    private final Counter overBudget;
+    private final Counter rejected;
+
+    public HedgedClient(Upstream upstream, RestTemplate primary, RestTemplate alternate, ExecutorService executor,
+                        boolean enabled, double percentile, long minDelayMs, long initialDelayMs,
+                        double budgetPercent, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.alternate = alternate;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMs);
+        this.initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(initialDelayMs);
+        this.budget = new HedgeBudget(budgetPercent, MAX_BANKED_HEDGES);
+
+        // Only decides when to hedge; the hedges themselves run on the executor
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, upstream.tag() + "-hedge-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+
+        this.fired = counter(meterRegistry, upstream, "outbound.hedges.fired");
+        this.won = counter(meterRegistry, upstream, "outbound.hedges.won");
+        this.overBudget = counter(meterRegistry, upstream, "outbound.hedges.over-budget");
+        this.rejected = counter(meterRegistry, upstream, "outbound.hedges.rejected");
+        TimeGauge.builder("outbound.hedges.delay", this, TimeUnit.NANOSECONDS, HedgedClient::hedgeDelayNanos)
+                .tag("upstream", upstream.tag())
+                .register(meterRegistry);
+    }
+
+    public ResponseEntity<String> get(String url, HttpEntity<?> entity) {
+        if (!enabled) {
+            return primary.exchange(url, HttpMethod.GET, entity, String.class);
+        }
+
+        budget.deposit();
+        Hedge hedge = new Hedge(url, entity);
+        ScheduledFuture<?> trigger = timer.schedule(hedge::fire, hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+
+        long startedAt = System.nanoTime();
+        ResponseEntity<String> response;
+        try {
+            response = hedge.primary.run(() -> primary.exchange(url, HttpMethod.GET, entity, String.class));
+        } catch (RuntimeException e) {
+            trigger.cancel(false);
+            // Shed before reaching the upstream, so it says nothing about its latency
+            if (!(e instanceof UpstreamRejectedException || e instanceof UpstreamUnavailableException)) {
+                // Censored sample: an aborted or failed primary would have taken at least this long
+                latencies.record(System.nanoTime() - startedAt);
+            }
+            return hedge.afterPrimaryFailed(e);
+        }
+
+        latencies.record(System.nanoTime() - startedAt);
+        trigger.cancel(false);
+        hedge.afterPrimarySucceeded();
+        return response;
+    }
+
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    private long hedgeDelayNanos() {
+        long observed = latencies.percentile(percentile);
+        return Math.max(minDelayNanos, observed < 0 ? initialDelayNanos : observed);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, Upstream upstream, String name) {
+        return Counter.builder(name)
+                .tag("upstream", upstream.tag())
+                .register(meterRegistry);
+    }
+
+    /**
+     * The possible second request for one call. {@code state} moves from PENDING to FIRED when the timer
+     * starts the hedge, or to CLOSED once the primary has finished, whichever comes first.
+     */
+    private final class Hedge {
+
+        private final String url;
+        private final HttpEntity<?> entity;
+        private final RequestCancellation primary = new RequestCancellation();
+        private final RequestCancellation cancellation = new RequestCancellation();
+        private final CompletableFuture<ResponseEntity<String>> response = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        Hedge(String url, HttpEntity<?> entity) {
+            this.url = url;
+            this.entity = entity;
+        }
+
+        // Runs on the timer thread, so it only decides and hands the request to the executor
+        void fire() {
+            if (state.get() != PENDING) {
+                return;
+            }
+            if (!budget.tryWithdraw()) {
+                overBudget.increment();
+                return;
+            }
+            if (!state.compareAndSet(PENDING, FIRED)) {
+                budget.refund();
+                return;
+            }
+
+            try {
+                executor.execute(this::send);
+                fired.increment();
+            } catch (RejectedExecutionException e) {
+                budget.refund();
+                rejected.increment();
+                response.completeExceptionally(e);
+            }
+        }
+
+        private void send() {
+            try {
+                ResponseEntity<String> answer =
+                        cancellation.run(() -> alternate.exchange(url, HttpMethod.GET, entity, String.class));
+                // Abort the primary only while it is still running
+                if (response.complete(answer) && state.get() == FIRED) {
+                    primary.cancel();
+                }
+            } catch (RuntimeException e) {
+                response.completeExceptionally(e);
+            }
+        }
+
+        void afterPrimarySucceeded() {
+            if (state.getAndSet(CLOSED) == FIRED) {
+                cancellation.cancel();
+            }
+        }
+
+        ResponseEntity<String> afterPrimaryFailed(RuntimeException primaryError) {
+            if (state.getAndSet(CLOSED) != FIRED) {
+                throw primaryError;
+            }
+
+            try {
+                ResponseEntity<String> answer = response.join();
+                won.increment();
+                return answer;
+            } catch (CompletionException | CancellationException e) {
+                // Both failed; the primary's error is the one callers expect
+                throw primaryError;
+            }
+        }
+    }
+}
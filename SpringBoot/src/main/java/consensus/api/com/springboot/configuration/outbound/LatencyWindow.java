@@ -0,0 +1,48 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ring buffer of the latest {@code size} latencies. Percentiles are read from a sorted copy that is
+ * recomputed every {@code RESORT_EVERY} samples once {@code minSamples} have been seen, so a read is a
+ * volatile load.
+ */
+class LatencyWindow {
+
+    private static final int RESORT_EVERY = 64;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] samples;
+    private final int minSamples;
+    private long recorded;
+    private volatile long[] sorted = new long[0];
+
+    LatencyWindow(int size, int minSamples) {
+        this.samples = new long[size];
+        this.minSamples = minSamples;
+    }
+
+    void record(long nanos) {
+        lock.lock();
+        try {
+            samples[(int) (recorded++ % samples.length)] = nanos;
+            if (recorded >= minSamples && (recorded % RESORT_EVERY == 0 || recorded == minSamples)) {
+                long[] copy = Arrays.copyOf(samples, (int) Math.min(recorded, samples.length));
+                Arrays.sort(copy);
+                sorted = copy;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // -1 until enough samples have been seen
+    long percentile(double percentile) {
+        long[] current = sorted;
+        if (current.length == 0) {
+            return -1;
+        }
+        return current[Math.min(current.length - 1, (int) (percentile * current.length))];
+    }
+}
@@ -0,0 +1,110 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.RequiredArgsConstructor;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * One pooled, keep-alive HTTP client per upstream, each with its own timeouts, circuit breaker and adaptive bulkhead.
+ * Request URLs are relative to the upstream's configured base URL.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class OutboundClientConfig {
+
+    private final OutboundProperties outboundProperties;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final MeterRegistry meterRegistry;
+
+    @Bean
+    public RestTemplate yahooRestTemplate() {
+        return restTemplate(Upstream.YAHOO);
+    }
+
+    @Bean
+    public RestTemplate yahooAlternateRestTemplate() {
+        return restTemplate(Upstream.YAHOO_ALTERNATE);
+    }
+
+    @Bean
+    public HedgedClient yahooClient(@Qualifier("yahooRestTemplate") RestTemplate primary,
+                                    @Qualifier("yahooAlternateRestTemplate") RestTemplate alternate,
+                                    @Qualifier("hedgeExecutor") ExecutorService hedgeExecutor,
+                                    @Value("${outbound.hedging.enabled:true}") boolean enabled,
+                                    @Value("${outbound.hedging.percentile:0.95}") double percentile,
+                                    @Value("${outbound.hedging.min-delay-ms:50}") long minDelayMs,
+                                    @Value("${outbound.hedging.initial-delay-ms:500}") long initialDelayMs,
+                                    @Value("${outbound.hedging.budget-percent:5}") double budgetPercent) {
+        return new HedgedClient(Upstream.YAHOO, primary, alternate, hedgeExecutor, enabled, percentile,
+                minDelayMs, initialDelayMs, budgetPercent, meterRegistry);
+    }
+
+    @Bean
+    public RestTemplate polyMarketRestTemplate() {
+        return restTemplate(Upstream.POLYMARKET);
+    }
+
+    @Bean
+    public RestTemplate geminiRestTemplate() {
+        return restTemplate(Upstream.GEMINI);
+    }
+
+    @Bean
+    public RestTemplate pythonRestTemplate() {
+        return restTemplate(Upstream.PYTHON);
+    }
+
+    private RestTemplate restTemplate(Upstream upstream) {
+        OutboundProperties.Client client = outboundProperties.get(upstream);
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(client.maxConnections())
+                .setMaxConnPerRoute(client.maxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(client.connectTimeout()))
+                        .setSocketTimeout(Timeout.of(client.readTimeout()))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, upstream.tag())
+                .bindTo(meterRegistry);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(client.acquireTimeout()))
+                        .setResponseTimeout(Timeout.of(client.readTimeout()))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+
+        return restTemplateBuilder
+                .requestFactory(() -> new CancellableRequestFactory(httpClient))
+                .rootUri(client.baseUrl())
+                .additionalInterceptors(
+                        new CircuitBreaker(upstream, client.circuitFailureThreshold(),
+                                client.circuitOpenDuration(), meterRegistry),
+                        new Bulkhead(upstream, new GradientLimit(client.minConcurrentRequests(),
+                                client.maxConcurrentRequests(), client.latencyTolerance(),
+                                client.latencyBaselineWindow()), meterRegistry),
+                        new UpstreamMetrics(upstream, meterRegistry))
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import lombok.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Value
+@ConfigurationProperties(prefix = "outbound")
+public class OutboundProperties {
+
+    Map<Upstream, Client> upstreams;
+
+    @ConstructorBinding
+    public OutboundProperties(final Map<Upstream, Client> upstreams) {
+        this.upstreams = upstreams;
+    }
+
+    public Client get(final Upstream upstream) {
+        Client client = upstreams.get(upstream);
+        if (client == null) {
+            throw new IllegalStateException("No outbound client configured for " + upstream.tag());
+        }
+        return client;
+    }
+
+    public record Client(
+            String baseUrl,
+            @DefaultValue("20") int maxConnections,
+            @DefaultValue("2s") Duration connectTimeout,
+            @DefaultValue("10s") Duration readTimeout,
+            @DefaultValue("20") int maxConcurrentRequests,
+            @DefaultValue("2") int minConcurrentRequests,
+            @DefaultValue("1.5") double latencyTolerance,
+            @DefaultValue("60s") Duration latencyBaselineWindow,
+            @DefaultValue("500ms") Duration acquireTimeout,
+            @DefaultValue("5") int circuitFailureThreshold,
+            @DefaultValue("30s") Duration circuitOpenDuration
+    ) {}
+}
@@ -0,0 +1,64 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import org.apache.hc.core5.concurrent.Cancellable;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Handle for aborting an outbound request from another thread. The request issued inside
+ * {@link #run(Supplier)} registers itself through {@link CancellableRequestFactory}; interceptors on
+ * the same thread use {@link #isCurrentCancelled()} to tell a deliberate abort from an upstream failure.
+ */
+public final class RequestCancellation {
+
+    private static final ThreadLocal<RequestCancellation> CURRENT = new ThreadLocal<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Cancellable request;
+    private volatile boolean cancelled;
+
+    public <T> T run(Supplier<T> call) {
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    public void cancel() {
+        lock.lock();
+        try {
+            cancelled = true;
+            if (request != null) {
+                request.cancel();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static boolean isCurrentCancelled() {
+        RequestCancellation current = CURRENT.get();
+        return current != null && current.cancelled;
+    }
+
+    static void register(Cancellable request) {
+        RequestCancellation current = CURRENT.get();
+        if (current == null) {
+            return;
+        }
+
+        current.lock.lock();
+        try {
+            current.request = request;
+            // Cancelled before the request existed: abort it before it is sent
+            if (current.cancelled) {
+                request.cancel();
+            }
+        } finally {
+            current.lock.unlock();
+        }
+    }
+}
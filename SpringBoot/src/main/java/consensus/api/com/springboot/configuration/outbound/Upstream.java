@@ -0,0 +1,14 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+public enum Upstream {
+    YAHOO,
+    // Second Yahoo host, used for hedged requests
+    YAHOO_ALTERNATE,
+    POLYMARKET,
+    GEMINI,
+    PYTHON;
+
+    public String tag() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,87 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records {@code outbound.requests} latency histograms per upstream and operation. Runs inside the
+ * bulkhead, so it measures time spent on the upstream (to response headers), not time queued for a permit.
+ */
+public class UpstreamMetrics implements ClientHttpRequestInterceptor {
+
+    // Path segments that carry no meaning of their own, e.g. /v8/finance/chart/AAPL -> chart
+    private static final Set<String> PREFIX_SEGMENTS = Set.of("finance", "models");
+
+    private final Upstream upstream;
+    private final MeterRegistry meterRegistry;
+
+    public UpstreamMetrics(Upstream upstream, MeterRegistry meterRegistry) {
+        this.upstream = upstream;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String operation = operation(request.getURI().getPath());
+        long start = System.nanoTime();
+
+        String outcome = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            outcome = outcome(response.getStatusCode().value());
+            return response;
+        } finally {
+            if (RequestCancellation.isCurrentCancelled()) {
+                outcome = "CANCELLED";
+            }
+            Timer.builder("outbound.requests")
+                    .tag("upstream", upstream.tag())
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * First meaningful path segment, skipping API versions and fixed prefixes; for Gemini-style
+     * {@code resource:method} segments the method is used. Symbols and ids never become tag values.
+     */
+    static String operation(String path) {
+        if (path == null) {
+            return "none";
+        }
+
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || segment.matches("v\\d+\\w*") || PREFIX_SEGMENTS.contains(segment)) {
+                continue;
+            }
+            int colon = segment.lastIndexOf(':');
+            return colon >= 0 ? segment.substring(colon + 1) : segment;
+        }
+        return "root";
+    }
+
+    private static String outcome(int status) {
+        if (status >= 500) {
+            return "SERVER_ERROR";
+        }
+        if (status >= 400) {
+            return "CLIENT_ERROR";
+        }
+        if (status >= 300) {
+            return "REDIRECTION";
+        }
+        return "SUCCESS";
+    }
+}
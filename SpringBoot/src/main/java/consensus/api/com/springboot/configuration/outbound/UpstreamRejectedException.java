@@ -0,0 +1,10 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import org.springframework.web.client.RestClientException;
+
+public class UpstreamRejectedException extends RestClientException {
+
+    public UpstreamRejectedException(final Upstream upstream) {
+        super("Too many concurrent requests to " + upstream.tag());
+    }
+}
@@ -0,0 +1,10 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import org.springframework.web.client.RestClientException;
+
+public class UpstreamUnavailableException extends RestClientException {
+
+    public UpstreamUnavailableException(final Upstream upstream) {
+        super("Circuit open for " + upstream.tag() + " after repeated failures");
+    }
+}
@@ -12,11 +12,20 @@ public class Asset {
     @Id
     private String id;
     private String symbol;
-    private String name;
     private double quantity;
     private double value;
+    // Profile fields live in SymbolProfile; these are only set on assets stored before the catalog
+    // and on the merged views handed to analysis
+    private String name;
     private String fullExchangeName;
     private String[] keywords;
     private String description;
+    private byte[] embedding;
+
+    public String embeddingText() {
+        String keywordText = keywords == null ? "" : String.join("\n", keywords);
+        String desc = description == null ? "" : description;
+        return keywordText + "\n" + desc;
+    }
 }
 
@@ -2,6 +2,7 @@ package consensus.api.com.springboot.data;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -15,6 +16,7 @@ import java.util.List;
 public class Portfolio {
     @Id
     private String id;
+    @Indexed(unique = true)
     private String userId;
 
     private List<Asset> assets;
@@ -0,0 +1,18 @@
+package consensus.api.com.springboot.data;
+
+/**
+ * Single-document atomic updates on a portfolio's assets, so concurrent edits never overwrite each other
+ * and only the changed array element is written. Symbols are matched case-insensitively.
+ */
+public interface PortfolioAssetUpdates {
+
+    void createIfAbsent(String userId);
+
+    // False when the user has no asset with this symbol
+    boolean incrementAssetQuantity(String userId, String symbol, double quantity);
+
+    // False when the user has no portfolio or already holds an asset with this symbol
+    boolean pushAsset(String userId, Asset asset);
+
+    boolean pullAsset(String userId, String symbol);
+}
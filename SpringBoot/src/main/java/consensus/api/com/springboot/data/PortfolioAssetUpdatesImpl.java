@@ -0,0 +1,56 @@
+package consensus.api.com.springboot.data;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.regex.Pattern;
+
+@RequiredArgsConstructor
+public class PortfolioAssetUpdatesImpl implements PortfolioAssetUpdates {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void createIfAbsent(String userId) {
+        try {
+            mongoTemplate.upsert(byUser(userId), new Update().setOnInsert("assets", new ArrayList<>()), Portfolio.class);
+        } catch (DuplicateKeyException e) {
+            // A concurrent request created it first; the unique userId index guarantees there is only one
+        }
+    }
+
+    @Override
+    public boolean incrementAssetQuantity(String userId, String symbol, double quantity) {
+        Query holding = Query.query(Criteria.where("userId").is(userId).and("assets.symbol").regex(symbolPattern(symbol)));
+        return mongoTemplate.updateFirst(holding, new Update().inc("assets.$.quantity", quantity), Portfolio.class)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean pushAsset(String userId, Asset asset) {
+        Query withoutSymbol = Query.query(Criteria.where("userId").is(userId)
+                .and("assets.symbol").not().regex(symbolPattern(asset.getSymbol())));
+        return mongoTemplate.updateFirst(withoutSymbol, new Update().push("assets", asset), Portfolio.class)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean pullAsset(String userId, String symbol) {
+        Update pull = new Update().pull("assets", new Document("symbol", symbolPattern(symbol)));
+        return mongoTemplate.updateFirst(byUser(userId), pull, Portfolio.class).getModifiedCount() > 0;
+    }
+
+    private static Query byUser(String userId) {
+        return Query.query(Criteria.where("userId").is(userId));
+    }
+
+    private static Pattern symbolPattern(String symbol) {
+        return Pattern.compile("^" + Pattern.quote(symbol.trim()) + "$", Pattern.CASE_INSENSITIVE);
+    }
+}
@@ -1,7 +1,13 @@
 package consensus.api.com.springboot.data;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
-public interface PortfolioRepo extends MongoRepository<Portfolio, String> {
+public interface PortfolioRepo extends MongoRepository<Portfolio, String>, PortfolioAssetUpdates {
     Portfolio findByUserId(String userId);
+
+    // Only what matching needs; skips names, quantities and stored prices
+    @Query(value = "{ 'userId': ?0 }",
+            fields = "{ 'assets.symbol': 1, 'assets.keywords': 1, 'assets.description': 1, 'assets.embedding': 1 }")
+    Portfolio findAssetProfilesByUserId(String userId);
 }
@@ -0,0 +1,19 @@
+package consensus.api.com.springboot.data;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@EqualsAndHashCode
+@Document(collection = "symbol_listings")
+public class SymbolListing {
+    // Upper-cased ticker as returned by a Yahoo symbol search
+    @Id
+    private String symbol;
+    private String name;
+    private String exchange;
+}
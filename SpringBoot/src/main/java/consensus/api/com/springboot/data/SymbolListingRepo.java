@@ -0,0 +1,6 @@
+package consensus.api.com.springboot.data;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface SymbolListingRepo extends MongoRepository<SymbolListing, String> {
+}
@@ -0,0 +1,40 @@
+package consensus.api.com.springboot.data;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@EqualsAndHashCode
+@Document(collection = "symbol_profiles")
+public class SymbolProfile {
+    // Upper-cased ticker, shared by every portfolio holding it
+    @Id
+    private String symbol;
+    private String name;
+    private String fullExchangeName;
+    private String[] keywords;
+    private String description;
+    private byte[] embedding;
+    @Indexed
+    private Instant refreshedAt;
+    // Last refresh attempt, successful or not; failed symbols sort behind the rest of the refresh backlog
+    @Indexed
+    private Instant refreshAttemptedAt;
+
+    public static String idFor(String symbol) {
+        return symbol.trim().toUpperCase();
+    }
+
+    public String embeddingText() {
+        String keywordText = keywords == null ? "" : String.join("\n", keywords);
+        String desc = description == null ? "" : description;
+        return keywordText + "\n" + desc;
+    }
+}
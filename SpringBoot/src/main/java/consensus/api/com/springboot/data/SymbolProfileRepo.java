@@ -0,0 +1,17 @@
+package consensus.api.com.springboot.data;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface SymbolProfileRepo extends MongoRepository<SymbolProfile, String> {
+    List<SymbolProfile> findByRefreshedAtBeforeOrEmbeddingIsNull(Instant cutoff, Pageable pageable);
+
+    @Query("{ '_id': ?0 }")
+    @Update("{ '$set': { 'refreshAttemptedAt': ?1 } }")
+    void markRefreshAttempted(String symbol, Instant attemptedAt);
+}
@@ -1,17 +1,24 @@
 package consensus.api.com.springboot.presentation;
 
 
-import consensus.api.com.springboot.buisness.AnalysisService;
+import consensus.api.com.springboot.buisness.AnalysisJobService;
+import consensus.api.com.springboot.buisness.AnalysisSummaryService;
+import consensus.api.com.springboot.buisness.DTO.AnalysisSummaryDTO;
 import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
-import consensus.api.com.springboot.buisness.PortfolioService;
-import consensus.api.com.springboot.presentation.request.AssetRequest;
-import consensus.api.com.springboot.presentation.responses.PortfolioResponse;
+import consensus.api.com.springboot.buisness.analysis.AnalysisJob;
+import consensus.api.com.springboot.presentation.responses.AnalysisJobResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -20,13 +27,85 @@ import java.util.List;
 @CrossOrigin(origins = {"http://localhost:8090", "https://mchacks.benmusicgeek.synology.me"})
 public class AnalysisController {
 
-    private final AnalysisService analysisService;
+    // Set to "true" when the summary is a previous result served because a fresh one could not be computed
+    public static final String STALE_HEADER = "X-Analysis-Stale";
+
+    private final AnalysisSummaryService analysisSummaryService;
+    private final AnalysisJobService analysisJobService;
+
+    @Value("${analysis.jobs.sse-timeout-ms:300000}")
+    private long sseTimeoutMs;
 
     @GetMapping("/summary")
-    @Cacheable(cacheNames = "analysisSummary", key = "#user.getSubject()")
-    public List<PolyMarketInfoDTO> getMarketSummary(@AuthenticationPrincipal Jwt user) {
+    public ResponseEntity<List<PolyMarketInfoDTO>> getMarketSummary(@AuthenticationPrincipal Jwt user) {
         String userId = user.getSubject();
-        return analysisService.analyzeData(userId);
+        AnalysisSummaryDTO summary = analysisSummaryService.summarize(userId);
+
+        return ResponseEntity.ok()
+                .lastModified(summary.analyzedAt())
+                .header(STALE_HEADER, String.valueOf(summary.stale()))
+                .body(summary.matches());
+    }
+
+    @PostMapping("/jobs")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public AnalysisJobResponse startAnalysisJob(@AuthenticationPrincipal Jwt user) {
+        return AnalysisJobResponse.fromModel(analysisJobService.start(user.getSubject()));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public AnalysisJobResponse getAnalysisJob(@PathVariable String jobId, @AuthenticationPrincipal Jwt user) {
+        return AnalysisJobResponse.fromModel(analysisJobService.find(jobId, user.getSubject()));
+    }
+
+    // Streams a "match" event per matched market as it is found, then one "summary" (or "failure") event
+    @GetMapping(path = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAnalysisJob(@PathVariable String jobId, @AuthenticationPrincipal Jwt user) {
+        AnalysisJob job = analysisJobService.find(jobId, user.getSubject());
+
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        SseListener listener = new SseListener(emitter);
+
+        emitter.onCompletion(() -> job.unsubscribe(listener));
+        emitter.onTimeout(() -> job.unsubscribe(listener));
+        emitter.onError(error -> job.unsubscribe(listener));
+
+        job.subscribe(listener);
+        return emitter;
     }
 
+    private record SseListener(SseEmitter emitter) implements AnalysisJob.Listener {
+
+        @Override
+        public void onMatch(PolyMarketInfoDTO match) {
+            send(SseEmitter.event().name("match").id(match.id()).data(match));
+        }
+
+        @Override
+        public void onSummary(List<PolyMarketInfoDTO> summary) {
+            send(SseEmitter.event().name("summary").data(summary));
+            emitter.complete();
+        }
+
+        @Override
+        public void onFailure(String message) {
+            send(SseEmitter.event().name("failure").data(ErrorMessage.from(message)));
+            emitter.complete();
+        }
+
+        @Override
+        public void onDropped() {
+            // Ends the stream; the client can reconnect or poll the job for its result
+            emitter.complete();
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package consensus.api.com.springboot.presentation.responses;
+
+import consensus.api.com.springboot.buisness.analysis.AnalysisJob;
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@EqualsAndHashCode
+public class AnalysisJobResponse {
+    private String jobId;
+    private AnalysisJob.Status status;
+    private boolean stale;
+
+    public static AnalysisJobResponse fromModel(AnalysisJob job) {
+        return AnalysisJobResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .stale(job.isStale())
+                .build();
+    }
+}
@@ -0,0 +1,7 @@
+package consensus.api.com.springboot.presentation.responses;
+
+public enum PriceStatus {
+    LIVE,
+    STALE,
+    MISSING
+}
@@ -0,0 +1,79 @@
+package consensus.api.com.springboot.buisness;
+
+import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class PolyMarketServiceImplTest {
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+    private final PolyMarketServiceImpl service = new PolyMarketServiceImpl(restTemplate);
+
+    private void configure(int limit, int maxEvents) {
+        ReflectionTestUtils.setField(service, "eventLimit", limit);
+        ReflectionTestUtils.setField(service, "maxEvents", maxEvents);
+    }
+
+    private void expectPage(int offset, int limit, String... ids) {
+        String body = Arrays.stream(ids)
+                .map(id -> "{\"id\":\"" + id + "\",\"title\":\"Event " + id + "\",\"description\":\"\",\"markets\":[]}")
+                .collect(Collectors.joining(",", "[", "]"));
+
+        server.expect(requestTo("/events?closed=false&limit=" + limit + "&offset=" + offset
+                        + "&order=volume24hr&active=true"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+    }
+
+    private static List<String> ids(List<PolyMarketInfoDTO> events) {
+        return events.stream().map(PolyMarketInfoDTO::id).toList();
+    }
+
+    @Test
+    void pagesUntilAShortPageWhenUnbounded() {
+        configure(2, 0);
+        expectPage(0, 2, "a", "b");
+        expectPage(2, 2, "b", "c");
+        expectPage(4, 2, "d");
+
+        List<PolyMarketInfoDTO> events = service.getMarketInfo();
+
+        // "b" moved across the page boundary between requests and is kept once
+        assertEquals(List.of("a", "b", "c", "d"), ids(events));
+        server.verify();
+    }
+
+    @Test
+    void stopsAtMaxEvents() {
+        configure(2, 3);
+        expectPage(0, 2, "a", "b");
+        expectPage(2, 1, "c");
+
+        assertEquals(List.of("a", "b", "c"), ids(service.getMarketInfo()));
+        server.verify();
+    }
+
+    @Test
+    void stopsOnAnEmptyPage() {
+        configure(2, 0);
+        expectPage(0, 2, "a", "b");
+        expectPage(2, 2);
+
+        assertEquals(List.of("a", "b"), ids(service.getMarketInfo()));
+        server.verify();
+    }
+}
@@ -0,0 +1,84 @@
+package consensus.api.com.springboot.buisness;
+
+import consensus.api.com.springboot.buisness.DTO.StockDTO;
+import consensus.api.com.springboot.buisness.quote.QuoteCache;
+import consensus.api.com.springboot.data.SymbolListingRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SymbolSearchServiceImplTest {
+
+    private final StockService stockService = mock(StockService.class);
+
+    private SymbolSearchServiceImpl service(String... listing) {
+        String file = "Symbol|Security Name|Exchange\n" + String.join("\n", listing);
+        SymbolSearchServiceImpl service = new SymbolSearchServiceImpl(
+                stockService,
+                mock(QuoteCache.class),
+                mock(SymbolListingRepo.class),
+                mock(MongoTemplate.class),
+                new ByteArrayResource(file.getBytes(StandardCharsets.UTF_8)),
+                600_000,
+                100,
+                new SimpleMeterRegistry());
+        service.rebuild();
+        return service;
+    }
+
+    private static List<String> symbols(List<StockDTO> results) {
+        return results.stream().map(StockDTO::symbol).toList();
+    }
+
+    @Test
+    void answersAnExactTickerFromTheIndex() {
+        SymbolSearchServiceImpl service = service("AAPL|Apple Inc.|NASDAQ", "AAPD|Direxion Apple Bear|NASDAQ");
+
+        assertEquals("AAPL", service.searchSymbols("aapl").get(0).symbol());
+        verifyNoInteractions(stockService);
+    }
+
+    @Test
+    void answersAFullPageFromTheIndex() {
+        SymbolSearchServiceImpl service = service(IntStream.range(0, 12)
+                .mapToObj(i -> "AB" + (char) ('A' + i) + "|Company " + i + "|NYSE")
+                .toArray(String[]::new));
+
+        assertEquals(10, service.searchSymbols("AB").size());
+        verifyNoInteractions(stockService);
+    }
+
+    @Test
+    void mergesYahooForAnAmbiguousPrefixAndCachesTheAnswer() {
+        SymbolSearchServiceImpl service = service("APPN|Appian Corporation|NASDAQ");
+        when(stockService.searchSymbols("APP")).thenReturn(List.of(
+                new StockDTO("APP", "AppLovin Corporation", "NASDAQ", null),
+                new StockDTO("APPN", "Appian Corporation", "NASDAQ", null)));
+
+        assertEquals(List.of("APPN", "APP"), symbols(service.searchSymbols("APP")));
+        assertEquals(List.of("APPN", "APP"), symbols(service.searchSymbols("app")));
+        verify(stockService, times(1)).searchSymbols("APP");
+    }
+
+    @Test
+    void doesNotCacheAnEmptyYahooAnswer() {
+        SymbolSearchServiceImpl service = service("APPN|Appian Corporation|NASDAQ");
+        when(stockService.searchSymbols("APP")).thenReturn(List.of());
+
+        assertEquals(List.of("APPN"), symbols(service.searchSymbols("APP")));
+        service.searchSymbols("APP");
+        verify(stockService, times(2)).searchSymbols("APP");
+    }
+}
@@ -0,0 +1,107 @@
+package consensus.api.com.springboot.buisness.analysis;
+
+import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnalysisJobTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private static final Executor SATURATED = task -> {
+        throw new RejectedExecutionException("full");
+    };
+
+    private static PolyMarketInfoDTO event(String id) {
+        return new PolyMarketInfoDTO(id, "Event " + id, "", List.of());
+    }
+
+    @Test
+    void replaysRecordedMatchesToALateSubscriber() {
+        AnalysisJob job = new AnalysisJob("job", "user", DIRECT);
+        job.match(event("a"));
+
+        RecordingListener listener = new RecordingListener();
+        job.subscribe(listener);
+        job.match(event("b"));
+        job.complete(List.of(event("a"), event("b")), false);
+
+        assertEquals(List.of("match a", "match b", "summary 2"), listener.events);
+    }
+
+    @Test
+    void dropsTheListenerWhenTheSenderRejects() {
+        AnalysisJob job = new AnalysisJob("job", "user", SATURATED);
+        RecordingListener listener = new RecordingListener();
+        job.subscribe(listener);
+
+        job.match(event("a"));
+        job.match(event("b"));
+        job.complete(List.of(), false);
+
+        assertEquals(List.of("dropped"), listener.events);
+    }
+
+    @Test
+    void dropsALateSubscriberWhoseReplayIsRejected() {
+        AnalysisJob job = new AnalysisJob("job", "user", SATURATED);
+        job.match(event("a"));
+
+        RecordingListener listener = new RecordingListener();
+        job.subscribe(listener);
+
+        assertEquals(List.of("dropped"), listener.events);
+    }
+
+    @Test
+    void dropsAListenerThatFailsWithoutFailingTheJob() {
+        AnalysisJob job = new AnalysisJob("job", "user", DIRECT);
+        RecordingListener broken = new RecordingListener() {
+            @Override
+            public void onMatch(PolyMarketInfoDTO match) {
+                throw new IllegalStateException("connection closed");
+            }
+        };
+        RecordingListener healthy = new RecordingListener();
+        job.subscribe(broken);
+        job.subscribe(healthy);
+
+        job.match(event("a"));
+        job.match(event("b"));
+        job.fail("boom");
+
+        assertEquals(List.of(), broken.events);
+        assertEquals(List.of("match a", "match b", "failure boom"), healthy.events);
+    }
+
+    private static class RecordingListener implements AnalysisJob.Listener {
+
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onMatch(PolyMarketInfoDTO match) {
+            events.add("match " + match.id());
+        }
+
+        @Override
+        public void onSummary(List<PolyMarketInfoDTO> summary) {
+            events.add("summary " + summary.size());
+        }
+
+        @Override
+        public void onFailure(String message) {
+            events.add("failure " + message);
+        }
+
+        @Override
+        public void onDropped() {
+            events.add("dropped");
+        }
+    }
+}
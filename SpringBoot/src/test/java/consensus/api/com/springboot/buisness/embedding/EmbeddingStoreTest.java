@@ -0,0 +1,108 @@
+package consensus.api.com.springboot.buisness.embedding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class EmbeddingStoreTest {
+
+    private static final int RECORD_BYTES = 32 + Integer.BYTES + 3 * Float.BYTES;
+
+    @TempDir
+    Path directory;
+
+    private EmbeddingStore store;
+
+    @AfterEach
+    void closeStore() {
+        store.close();
+    }
+
+    private EmbeddingStore open() {
+        EmbeddingStore opened = new EmbeddingStore();
+        ReflectionTestUtils.setField(opened, "enabled", true);
+        ReflectionTestUtils.setField(opened, "path", directory.resolve("embeddings.bin"));
+        opened.open();
+        return opened;
+    }
+
+    private long storedEnd() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve("embeddings.bin"), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            return header.getLong(8);
+        }
+    }
+
+    @Test
+    void vectorsSurviveReopen() {
+        store = open();
+        store.put("model", "task", "text", new float[]{1, 2, 3});
+        store.close();
+
+        store = open();
+        assertEquals(1, store.size());
+        assertArrayEquals(new float[]{1, 2, 3}, store.get("model", "task", "text"));
+    }
+
+    @Test
+    void growsPastTheInitialMapping() {
+        store = open();
+        float[] vector = new float[4096];
+        for (int i = 0; i < 1100; i++) {
+            vector[0] = i;
+            store.put("model", "task", "text-" + i, vector);
+        }
+
+        assertEquals(1100, store.size());
+        assertEquals(1099f, store.get("model", "task", "text-1099")[0]);
+    }
+
+    @Test
+    void compactsSupersededRecordsOnOpen() throws IOException {
+        store = open();
+        store.put("model", "task", "a", new float[]{1, 2, 3});
+        store.put("model", "task", "b", new float[]{4, 5, 6});
+        store.close();
+
+        // Append three more copies of record "a", as a store written without the duplicate check would hold
+        long end = storedEnd();
+        try (FileChannel channel = FileChannel.open(directory.resolve("embeddings.bin"), StandardOpenOption.WRITE,
+                StandardOpenOption.READ)) {
+            ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+            channel.read(record, 16);
+            for (int i = 0; i < 3; i++) {
+                record.flip();
+                channel.write(record, end);
+                end += RECORD_BYTES;
+            }
+            ByteBuffer header = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, end);
+            channel.write(header, 8);
+        }
+        assertEquals(16 + 5L * RECORD_BYTES, storedEnd());
+
+        store = open();
+        assertEquals(2, store.size());
+        assertArrayEquals(new float[]{1, 2, 3}, store.get("model", "task", "a"));
+        assertArrayEquals(new float[]{4, 5, 6}, store.get("model", "task", "b"));
+        store.close();
+
+        assertEquals(16 + 2L * RECORD_BYTES, storedEnd());
+        assertFalse(Files.exists(directory.resolve("embeddings.bin.compact")));
+        store = open();
+        assertEquals(2, store.size());
+    }
+}
@@ -0,0 +1,150 @@
+package consensus.api.com.springboot.buisness.embedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HnswIndexTest {
+
+    private static final int DIMENSION = 32;
+
+    private final Random random = new Random(7);
+
+    @Test
+    void exactSearchReturnsMostSimilarFirst() {
+        HnswIndex index = new HnswIndex(8, 64, 32, 100);
+        index.insert("x", normalize(new float[]{1, 0}));
+        index.insert("xy", normalize(new float[]{1, 1}));
+        index.insert("y", normalize(new float[]{0, 1}));
+
+        List<HnswIndex.Neighbor> found = index.search(normalize(new float[]{1, 0.1f}), 2);
+
+        assertEquals(List.of("x", "xy"), found.stream().map(HnswIndex.Neighbor::id).toList());
+    }
+
+    @Test
+    void searchDropsMatchesBelowMinimumSimilarity() {
+        HnswIndex index = new HnswIndex(8, 64, 32, 100);
+        index.insert("x", normalize(new float[]{1, 0}));
+        index.insert("y", normalize(new float[]{0, 1}));
+
+        List<HnswIndex.Neighbor> found = index.search(normalize(new float[]{1, 0}), 5, 0.5f);
+
+        assertEquals(List.of("x"), found.stream().map(HnswIndex.Neighbor::id).toList());
+    }
+
+    @Test
+    void approximateSearchRecallsMostTrueNeighbors() {
+        // Threshold 0 forces the graph search for every query
+        HnswIndex index = new HnswIndex(16, 200, 100, 0);
+        List<float[]> vectors = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            float[] vector = randomVector();
+            vectors.add(vector);
+            index.insert(Integer.toString(i), vector);
+        }
+
+        int k = 10;
+        int recalled = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = randomVector();
+            Set<String> expected = new HashSet<>(bruteForce(vectors, query, k));
+            recalled += (int) index.search(query, k).stream().filter(n -> expected.contains(n.id())).count();
+        }
+
+        double recall = recalled / (50.0 * k);
+        assertTrue(recall >= 0.9, "recall@10 was " + recall);
+    }
+
+    @Test
+    void insertReplacesVectorUnderSameId() {
+        HnswIndex index = new HnswIndex(8, 64, 32, 100);
+        index.insert("a", normalize(new float[]{1, 0}));
+        index.insert("a", normalize(new float[]{0, 1}));
+
+        assertEquals(1, index.size());
+        assertEquals(1.0f, index.search(normalize(new float[]{0, 1}), 1).get(0).similarity(), 1e-5);
+    }
+
+    @Test
+    void removedVectorsAreNotReturned() {
+        HnswIndex index = new HnswIndex(8, 64, 32, 0);
+        List<float[]> vectors = IntStream.range(0, 200).mapToObj(i -> randomVector()).toList();
+        for (int i = 0; i < vectors.size(); i++) {
+            index.insert(Integer.toString(i), vectors.get(i));
+        }
+
+        index.remove("0");
+
+        assertFalse(index.contains("0"));
+        assertEquals(199, index.size());
+        assertFalse(index.search(vectors.get(0), 10).stream().anyMatch(n -> n.id().equals("0")));
+    }
+
+    @Test
+    void compactionKeepsRemainingVectorsSearchable() {
+        HnswIndex index = new HnswIndex(8, 64, 32, 10);
+        List<float[]> vectors = IntStream.range(0, 300).mapToObj(i -> randomVector()).toList();
+        for (int i = 0; i < vectors.size(); i++) {
+            index.insert(Integer.toString(i), vectors.get(i));
+        }
+
+        // Deleting more than half the nodes triggers a rebuild from the live ones
+        for (int i = 0; i < 200; i++) {
+            index.remove(Integer.toString(i));
+        }
+
+        assertEquals(100, index.size());
+        for (int i = 200; i < 300; i++) {
+            List<HnswIndex.Neighbor> found = index.search(vectors.get(i), 1);
+            assertEquals(Integer.toString(i), found.get(0).id());
+        }
+    }
+
+    private float[] randomVector() {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return normalize(vector);
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+
+    private static List<String> bruteForce(List<float[]> vectors, float[] query, int k) {
+        return IntStream.range(0, vectors.size())
+                .boxed()
+                .sorted(Comparator.comparingDouble(i -> -dot(vectors.get(i), query)))
+                .limit(k)
+                .map(i -> Integer.toString(i))
+                .toList();
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
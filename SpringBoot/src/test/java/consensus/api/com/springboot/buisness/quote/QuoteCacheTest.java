@@ -0,0 +1,84 @@
+package consensus.api.com.springboot.buisness.quote;
+
+import consensus.api.com.springboot.buisness.DTO.StockDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuoteCacheTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QuoteCache cache = new QuoteCache(executor, 15_000, 120_000, 86_400_000, 100, meterRegistry);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void servesCachedQuotesWithoutLoadingAgain() {
+        StockDTO quote = new StockDTO("AAPL", "Apple", "NASDAQ", 190.0);
+        cache.get("aapl", symbol -> quote);
+
+        assertEquals(quote, cache.get("AAPL", symbol -> {
+            throw new AssertionError("loaded twice");
+        }));
+        assertEquals(quote, cache.peek("aapl"));
+    }
+
+    @Test
+    void coalescedWaitersAreReleasedWhenTheLoaderThrowsAnError() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<StockDTO> owner = CompletableFuture.supplyAsync(() -> cache.get("AAPL", symbol -> {
+            loading.countDown();
+            awaitQuietly(release);
+            throw new StackOverflowError();
+        }), executor);
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Map<String, StockDTO>> waiter = CompletableFuture.supplyAsync(() ->
+                cache.getAll(List.of("AAPL"), symbols -> {
+                    throw new AssertionError("should have joined the in-flight load");
+                }), executor);
+        awaitCoalesced();
+        release.countDown();
+
+        assertEquals(Map.of(), waiter.get(5, TimeUnit.SECONDS));
+        assertThrows(Exception.class, () -> owner.get(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitCoalesced() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1.0, coalesced());
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("quote.cache.requests").tag("result", "coalesced").functionCounter().count();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package consensus.api.com.springboot.buisness.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SymbolIndexTest {
+
+    private static SymbolIndex.Entry entry(String symbol, String name) {
+        return new SymbolIndex.Entry(symbol, name, "NMS");
+    }
+
+    private static List<String> symbols(List<SymbolIndex.Entry> entries) {
+        return entries.stream().map(SymbolIndex.Entry::symbol).toList();
+    }
+
+    @Test
+    void exactSymbolMatchRanksFirst() {
+        SymbolIndex index = SymbolIndex.build(List.of(
+                entry("AAPL", "Apple Inc."),
+                entry("AA", "Alcoa Corporation"),
+                entry("AAL", "American Airlines Group Inc.")));
+
+        assertEquals(List.of("AA", "AAL", "AAPL"), symbols(index.search("aa", 10)));
+    }
+
+    @Test
+    void matchesAnyWordOfTheName() {
+        SymbolIndex index = SymbolIndex.build(List.of(
+                entry("BAC", "Bank of America Corporation"),
+                entry("AAPL", "Apple Inc.")));
+
+        assertEquals(List.of("BAC"), symbols(index.search("america", 10)));
+        assertEquals(List.of("BAC"), symbols(index.search("Bank of Am", 10)));
+    }
+
+    @Test
+    void symbolMatchesComeBeforeNameMatches() {
+        SymbolIndex index = SymbolIndex.build(List.of(
+                entry("AAPL", "Apple Inc."),
+                entry("APP", "AppLovin Corporation")));
+
+        assertEquals(List.of("APP", "AAPL"), symbols(index.search("app", 10)));
+    }
+
+    @Test
+    void prefixLookupFindsEveryEntryInARunOfDuplicateKeys() {
+        List<SymbolIndex.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            entries.add(entry("BNK" + i, "Bank"));
+        }
+        entries.add(entry("BAKE", "Bakery Holdings"));
+        SymbolIndex index = SymbolIndex.build(entries);
+
+        // All 25 share the name key "bank"; the search must start at the first of them, in entry order
+        List<SymbolIndex.Entry> found = index.search("bank", 30);
+        assertEquals(25, found.size());
+        assertEquals("BNK0", found.get(0).symbol());
+        assertEquals("BNK24", found.get(24).symbol());
+    }
+
+    @Test
+    void firstEntryForASymbolWins() {
+        SymbolIndex index = SymbolIndex.build(List.of(
+                entry("msft", "Microsoft Corporation"),
+                entry("MSFT", "Microsoft Corp (search result)")));
+
+        assertEquals(1, index.size());
+        assertEquals("Microsoft Corporation", index.search("MSFT", 10).get(0).name());
+    }
+
+    @Test
+    void searchStopsAtTheLimit() {
+        List<SymbolIndex.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            entries.add(entry("X" + i, "Company " + i));
+        }
+
+        assertEquals(10, SymbolIndex.build(entries).search("x", 10).size());
+    }
+
+    @Test
+    void blankOrUnknownQueriesFindNothing() {
+        SymbolIndex index = SymbolIndex.build(List.of(entry("AAPL", "Apple Inc.")));
+
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertTrue(index.search("zzz", 10).isEmpty());
+        assertTrue(SymbolIndex.empty().search("a", 10).isEmpty());
+    }
+}
@@ -0,0 +1,63 @@
+package consensus.api.com.springboot.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import consensus.api.com.springboot.buisness.DTO.AnalysisSummaryDTO;
+import consensus.api.com.springboot.buisness.DTO.PolyMarketInfoDTO;
+import consensus.api.com.springboot.configuration.cache.CachingProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheConfigTest {
+
+    private static AnalysisSummaryDTO summary(int matches) {
+        return new AnalysisSummaryDTO(IntStream.range(0, matches)
+                .mapToObj(i -> new PolyMarketInfoDTO("event-" + i, "Event " + i, "", List.of()))
+                .toList(), Instant.now(), false);
+    }
+
+    private static Cache<Object, Object> weightedCache(long maximumWeight) {
+        CachingProperties.Spec spec = new CachingProperties.Spec(1000, maximumWeight, Duration.ofHours(1), false);
+        return CacheConfig.builder(spec).executor(Runnable::run).build();
+    }
+
+    @Test
+    void weighsSummariesByTheirMatches() {
+        assertEquals(25, CacheConfig.weigh(summary(25)));
+        assertEquals(1, CacheConfig.weigh(summary(0)));
+        assertEquals(3, CacheConfig.weigh(List.of(1, 2, 3)));
+        assertEquals(1, CacheConfig.weigh("value"));
+    }
+
+    @Test
+    void evictsSummariesOnceTheirMatchesExceedTheWeight() {
+        Cache<Object, Object> cache = weightedCache(50);
+
+        for (int user = 0; user < 5; user++) {
+            cache.put("user-" + user, summary(20));
+        }
+        cache.cleanUp();
+
+        long weight = cache.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+        assertTrue(weight <= 50, "weighted size " + weight);
+        assertTrue(cache.estimatedSize() <= 2, "entries " + cache.estimatedSize());
+    }
+
+    @Test
+    void keepsManySmallSummariesWithinTheWeight() {
+        Cache<Object, Object> cache = weightedCache(50);
+
+        for (int user = 0; user < 10; user++) {
+            cache.put("user-" + user, summary(5));
+        }
+        cache.cleanUp();
+
+        assertEquals(10, cache.estimatedSize());
+    }
+}
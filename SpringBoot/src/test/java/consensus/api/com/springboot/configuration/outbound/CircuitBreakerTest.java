@@ -0,0 +1,110 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final long OPEN_NANOS = Duration.ofSeconds(30).toNanos();
+
+    private final CircuitBreaker breaker =
+            new CircuitBreaker(Upstream.YAHOO, 3, Duration.ofSeconds(30), new SimpleMeterRegistry());
+
+    private void call(Boolean failed, long now) {
+        assertTrue(breaker.tryPass(now));
+        breaker.record(failed, now);
+    }
+
+    private void open(long now) {
+        for (int i = 0; i < 3; i++) {
+            call(true, now);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        call(true, 0);
+        call(true, 0);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        call(true, 0);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryPass(1));
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        call(true, 0);
+        call(true, 0);
+        call(false, 0);
+        call(true, 0);
+        call(true, 0);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void neutralOutcomesDoNotCount() {
+        call(true, 0);
+        call(true, 0);
+        call(null, 0);
+        call(null, 0);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        call(true, 0);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void letsOneProbeThroughAfterTheOpenDuration() {
+        open(0);
+
+        assertFalse(breaker.tryPass(OPEN_NANOS - 1));
+        assertTrue(breaker.tryPass(OPEN_NANOS));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        // Only one probe at a time
+        assertFalse(breaker.tryPass(OPEN_NANOS));
+    }
+
+    @Test
+    void successfulProbeClosesTheCircuit() {
+        open(0);
+        assertTrue(breaker.tryPass(OPEN_NANOS));
+
+        breaker.record(false, OPEN_NANOS);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryPass(OPEN_NANOS));
+    }
+
+    @Test
+    void failedProbeReopensForAnotherFullDuration() {
+        open(0);
+        assertTrue(breaker.tryPass(OPEN_NANOS));
+
+        breaker.record(true, OPEN_NANOS);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryPass(2 * OPEN_NANOS - 1));
+        assertTrue(breaker.tryPass(2 * OPEN_NANOS));
+    }
+
+    @Test
+    void neutralProbeFreesTheSlotWithoutDecidingTheState() {
+        open(0);
+        assertTrue(breaker.tryPass(OPEN_NANOS));
+
+        breaker.record(null, OPEN_NANOS);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.tryPass(OPEN_NANOS));
+    }
+}
@@ -0,0 +1,117 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradientLimitTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private long now;
+
+    // Fills every slot, then completes them all with the same outcome 10ms apart
+    private void round(GradientLimit limit, long rttMs, boolean dropped) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            now += 10 * MS;
+            limit.release(rttMs * MS, dropped, now);
+        }
+    }
+
+    @Test
+    void rejectsOnceTheLimitIsInFlight() {
+        GradientLimit limit = new GradientLimit(1, 3, 1.5, Duration.ofSeconds(60));
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(3, limit.inFlight());
+
+        limit.release();
+        assertEquals(2, limit.inFlight());
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void droppedCallsBackOffToTheMinimum() {
+        GradientLimit limit = new GradientLimit(4, 50, 1.5, Duration.ofSeconds(60));
+
+        round(limit, 20, true);
+        assertTrue(limit.limit() < 50);
+
+        for (int i = 0; i < 50; i++) {
+            round(limit, 20, true);
+        }
+        assertEquals(4, limit.limit());
+    }
+
+    @Test
+    void latencySpikeShrinksTheLimit() {
+        GradientLimit limit = new GradientLimit(4, 50, 1.5, Duration.ofSeconds(60));
+        for (int i = 0; i < 5; i++) {
+            round(limit, 20, false);
+        }
+        assertEquals(50, limit.limit());
+
+        // Ten times the baseline, for well under the baseline window
+        for (int i = 0; i < 5; i++) {
+            round(limit, 200, false);
+        }
+        assertTrue(limit.limit() <= 10, "limit was " + limit.limit());
+    }
+
+    @Test
+    void limitGrowsBackOnceLatencyRecovers() {
+        GradientLimit limit = new GradientLimit(4, 50, 1.5, Duration.ofSeconds(60));
+        round(limit, 20, false);
+        for (int i = 0; i < 30; i++) {
+            round(limit, 20, true);
+        }
+        assertEquals(4, limit.limit());
+
+        for (int i = 0; i < 200 && limit.limit() < 50; i++) {
+            round(limit, 20, false);
+        }
+        assertEquals(50, limit.limit());
+    }
+
+    @Test
+    void limitDoesNotGrowWhileMostlyIdle() {
+        GradientLimit limit = new GradientLimit(4, 50, 1.5, Duration.ofSeconds(60));
+        round(limit, 20, false);
+        for (int i = 0; i < 30; i++) {
+            round(limit, 20, true);
+        }
+        int shrunk = limit.limit();
+
+        // One call at a time never uses half the limit
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            now += 10 * MS;
+            limit.release(20 * MS, false, now);
+        }
+        assertEquals(shrunk, limit.limit());
+    }
+
+    @Test
+    void slowerLatencyBecomesTheNewBaselineAfterTheWindow() {
+        GradientLimit limit = new GradientLimit(4, 50, 1.5, Duration.ofSeconds(1));
+        round(limit, 20, false);
+
+        // 200 rounds of 10ms steps is far longer than the one-second window
+        for (int i = 0; i < 200; i++) {
+            round(limit, 100, false);
+        }
+        assertEquals(50, limit.limit());
+    }
+}
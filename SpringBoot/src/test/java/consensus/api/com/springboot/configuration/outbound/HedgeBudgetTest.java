@@ -0,0 +1,57 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgeBudgetTest {
+
+    private final HedgeBudget budget = new HedgeBudget(5, 2);
+
+    private void spend(int hedges) {
+        for (int i = 0; i < hedges; i++) {
+            assertTrue(budget.tryWithdraw());
+        }
+    }
+
+    @Test
+    void startsWithTheBankedHedges() {
+        spend(2);
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    void earnsOneHedgePerTwentyRequestsAtFivePercent() {
+        spend(2);
+
+        for (int i = 0; i < 19; i++) {
+            budget.deposit();
+        }
+        assertFalse(budget.tryWithdraw());
+
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    void refundReturnsAnUnsentHedge() {
+        spend(2);
+
+        budget.refund();
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    void banksNoMoreThanTheCap() {
+        for (int i = 0; i < 1000; i++) {
+            budget.deposit();
+        }
+        budget.refund();
+
+        spend(2);
+        assertFalse(budget.tryWithdraw());
+    }
+}
@@ -0,0 +1,46 @@
+package consensus.api.com.springboot.configuration.outbound;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyWindowTest {
+
+    @Test
+    void hasNoPercentileBeforeMinSamples() {
+        LatencyWindow window = new LatencyWindow(1024, 100);
+        for (int i = 0; i < 99; i++) {
+            window.record(1_000);
+        }
+        assertEquals(-1, window.percentile(0.95));
+
+        window.record(1_000);
+        assertEquals(1_000, window.percentile(0.95));
+    }
+
+    @Test
+    void readsThePercentileOfTheRecordedLatencies() {
+        LatencyWindow window = new LatencyWindow(1024, 100);
+        for (int i = 1; i <= 100; i++) {
+            window.record(i);
+        }
+
+        assertEquals(96, window.percentile(0.95));
+        assertEquals(51, window.percentile(0.5));
+        assertEquals(100, window.percentile(1.0));
+    }
+
+    @Test
+    void keepsOnlyTheLatestSamples() {
+        LatencyWindow window = new LatencyWindow(64, 64);
+        for (int i = 0; i < 64; i++) {
+            window.record(1_000_000);
+        }
+        assertEquals(1_000_000, window.percentile(0.95));
+
+        for (int i = 0; i < 64; i++) {
+            window.record(10);
+        }
+        assertEquals(10, window.percentile(0.95));
+    }
+}